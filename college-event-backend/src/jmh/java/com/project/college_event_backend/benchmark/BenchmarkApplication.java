@@ -0,0 +1,125 @@
+package com.project.college_event_backend.benchmark;
+
+import com.project.college_event_backend.CollegeEventBackendApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application against the in-memory H2 store from application-benchmark.properties,
+ * or against the MySQL database in BENCHMARK_DB_URL (application-benchmark-mysql.properties),
+ * and seeds it with a configurable amount of users, events and registrations. H2 says nothing
+ * about MySQL query plans or Connector/J settings; use MySQL for numbers that should carry over.
+ */
+final class BenchmarkApplication {
+    private static final int BATCH = 5_000;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+    private static final String INFO = "Schedule, speakers and requirements for the event. ".repeat(40);
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... extraProfiles) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        List<String> profiles = new ArrayList<>(List.of("benchmark"));
+        profiles.addAll(List.of(extraProfiles));
+        if (System.getenv("BENCHMARK_DB_URL") != null) {
+            profiles.add("benchmark-mysql");
+        }
+        return new SpringApplicationBuilder(CollegeEventBackendApplication.class)
+                .profiles(profiles.toArray(String[]::new))
+                .web(WebApplicationType.NONE)
+                .run();
+    }
+
+    /**
+     * Seeds users 1..faculty as faculty, followed by students; events 1..events; and
+     * registrations spread evenly over the events. Returns the id of the first student.
+     */
+    static long seed(JdbcTemplate jdbc, int faculty, int students, int events, int registrations) {
+        List<Object[]> rows = new ArrayList<>(BATCH);
+        for (int i = 1; i <= faculty + students; i++) {
+            boolean isFaculty = i <= faculty;
+            rows.add(new Object[]{(isFaculty ? "Faculty " : "Student ") + i, "user" + i + "@college.test",
+                    "$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchmar", isFaculty ? "faculty" : "student"});
+            flush(jdbc, "INSERT INTO user (name, email, password, role) VALUES (?, ?, ?, ?)", rows, false);
+        }
+        flush(jdbc, "INSERT INTO user (name, email, password, role) VALUES (?, ?, ?, ?)", rows, true);
+
+        String[] statuses = {"Approved", "Pending", "Rejected"};
+        String insertEvent = "INSERT INTO event (faculty_id, title, venue, date, description, status, remark, faculty_name, version, remark_notified) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, FALSE)";
+        for (int i = 1; i <= events; i++) {
+            long facultyId = i % faculty + 1;
+            rows.add(new Object[]{facultyId, "Event " + i, "Hall " + i % 20, Date.valueOf(FIRST_DAY.plusDays(i)),
+                    "Description for event " + i, statuses[i % statuses.length], null, "Faculty " + facultyId});
+            flush(jdbc, insertEvent, rows, false);
+        }
+        flush(jdbc, insertEvent, rows, true);
+
+        String insertInfo = "INSERT INTO event_info (event_id, encoding, content) VALUES (?, 'plain', ?)";
+        byte[] info = INFO.getBytes(StandardCharsets.UTF_8);
+        for (long eventId = 1; eventId <= events; eventId++) {
+            rows.add(new Object[]{eventId, info});
+            flush(jdbc, insertInfo, rows, false);
+        }
+        flush(jdbc, insertInfo, rows, true);
+
+        long firstStudent = faculty + 1L;
+        String insertRegistration = "INSERT INTO registration (id, event_id, student_id, status, date, student_name, faculty_id, faculty_name) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        for (int n = 0; n < registrations; n++) {
+            long eventId = n % events + 1;
+            long studentId = firstStudent + n / events;
+            long facultyId = eventId % faculty + 1;
+            rows.add(new Object[]{n + 1L, eventId, studentId, "Registered", Date.valueOf(FIRST_DAY.plusDays(eventId)),
+                    "Student " + studentId, facultyId, "Faculty " + facultyId});
+            flush(jdbc, insertRegistration, rows, false);
+        }
+        flush(jdbc, insertRegistration, rows, true);
+        if (isMySql(jdbc)) {
+            jdbc.update("UPDATE registration_seq SET next_val = ?", registrations + 1_000L);
+        } else {
+            jdbc.execute("ALTER SEQUENCE registration_seq RESTART WITH " + (registrations + 1_000L));
+            jdbc.execute("CREATE TABLE IF NOT EXISTS registration_stat (scope VARCHAR(16) NOT NULL, stat_key VARCHAR(32) NOT NULL, " +
+                    "count BIGINT NOT NULL, updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, PRIMARY KEY (scope, stat_key))");
+        }
+        return firstStudent;
+    }
+
+    private static boolean isMySql(JdbcTemplate jdbc) {
+        return "MySQL".equals(jdbc.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName()));
+    }
+
+    private static void flush(JdbcTemplate jdbc, String sql, List<Object[]> rows, boolean force) {
+        if (!rows.isEmpty() && (force || rows.size() >= BATCH)) {
+            jdbc.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+
+    /** Starts every MySQL trial from an empty, fully migrated schema so the seed ids are free. */
+    @Configuration
+    @Profile("benchmark-mysql")
+    static class MySqlSchema {
+        @Bean
+        FlywayMigrationStrategy cleanMigrate() {
+            return flyway -> {
+                flyway.clean();
+                flyway.migrate();
+            };
+        }
+    }
+}
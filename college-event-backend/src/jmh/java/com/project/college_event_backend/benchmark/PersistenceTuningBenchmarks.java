@@ -0,0 +1,142 @@
+package com.project.college_event_backend.benchmark;
+
+import com.project.college_event_backend.model.Event;
+import com.project.college_event_backend.model.Registration;
+import com.project.college_event_backend.repository.StudentRepository;
+import com.project.college_event_backend.service.EventsService;
+import com.project.college_event_backend.service.FacultyService;
+import com.project.college_event_backend.service.RegistrationCounters;
+import com.project.college_event_backend.service.StudentService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs registration inserts and listing reads once with Hibernate's defaults ("untuned") and
+ * once with application-perf.properties ("perf"). On the default H2 store only the Hibernate
+ * settings are in play; the Connector/J statement cache and rewriteBatchedStatements need MySQL,
+ * so set BENCHMARK_DB_URL (see application-benchmark-mysql.properties) before comparing them.
+ * No results have been recorded yet, so the perf profile's gains are still unmeasured here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PersistenceTuningBenchmarks {
+    private static final int REGISTRATION_STUDENTS = 10_000;
+
+    @Param({"untuned", "perf"})
+    public String settings;
+    @Param("200")
+    public int faculty;
+    @Param("1000")
+    public int events;
+    @Param("100000")
+    public int registrations;
+    @Param("200")
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private StudentService studentService;
+    private EventsService eventsService;
+    private FacultyService facultyService;
+    private StudentRepository studentRepository;
+    private TransactionTemplate transactionTemplate;
+    private CacheManager cacheManager;
+
+    private long firstStudent;
+    private int seededStudents;
+    private long firstFreeStudent;
+    private final AtomicLong registrationCounter = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(settings);
+        seededStudents = (registrations + events - 1) / events;
+        firstStudent = BenchmarkApplication.seed(context.getBean(JdbcTemplate.class), faculty,
+                seededStudents + REGISTRATION_STUDENTS, events, registrations);
+        firstFreeStudent = firstStudent + seededStudents;
+        context.getBean(RegistrationCounters.class).rebuild();
+
+        studentService = context.getBean(StudentService.class);
+        eventsService = context.getBean(EventsService.class);
+        facultyService = context.getBean(FacultyService.class);
+        studentRepository = context.getBean(StudentRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        cacheManager = context.getBean(CacheManager.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /** The write-behind flush: one transaction saving a batch of registrations. */
+    @Benchmark
+    public List<Registration> registerBatch() {
+        List<Registration> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(nextRegistration());
+        }
+        return transactionTemplate.execute(status -> studentRepository.saveAll(batch));
+    }
+
+    @Benchmark
+    public Registration registerStudent() {
+        return studentService.registerStudent(nextRegistration());
+    }
+
+    @Benchmark
+    public List<Event> listApprovedEvents() {
+        cacheManager.getCache(EventsService.APPROVED_EVENTS_CACHE).clear();
+        return eventsService.getAllEvents();
+    }
+
+    @Benchmark
+    public List<Registration> listEventRegistrations() {
+        return facultyService.findAllByEventId(ThreadLocalRandom.current().nextLong(1, events + 1));
+    }
+
+    @Benchmark
+    public List<Registration> listStudentRegistrations() {
+        return studentService.allRegisteredEventsByStudent(firstStudent + ThreadLocalRandom.current().nextInt(seededStudents));
+    }
+
+    /** Bulk check-registrations with a different IN-list length on every call. */
+    @Benchmark
+    public List<Long> checkRegistrations() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Long> eventIds = new ArrayList<>();
+        for (int i = random.nextInt(1, 51); i > 0; i--) {
+            eventIds.add(random.nextLong(1, events + 1));
+        }
+        return studentService.registeredEventIds(firstStudent + random.nextInt(seededStudents), eventIds);
+    }
+
+    private Registration nextRegistration() {
+        long n = registrationCounter.getAndIncrement();
+        long eventId = n % events + 1;
+        long studentId = firstFreeStudent + (n / events) % REGISTRATION_STUDENTS;
+        long facultyId = eventId % faculty + 1;
+        Registration registration = new Registration();
+        registration.setEventId(eventId);
+        registration.setStudentId(studentId);
+        registration.setStatus(StudentService.REGISTERED);
+        registration.setDate(LocalDate.now());
+        registration.setStudentName("Student " + studentId);
+        registration.setFacultyId(facultyId);
+        registration.setFacultyName("Faculty " + facultyId);
+        return registration;
+    }
+}
@@ -0,0 +1,117 @@
+package com.project.college_event_backend.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.college_event_backend.model.Event;
+import com.project.college_event_backend.model.Registration;
+import com.project.college_event_backend.service.EventsService;
+import com.project.college_event_backend.service.FacultyService;
+import com.project.college_event_backend.service.RegistrationCounters;
+import com.project.college_event_backend.service.StudentService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hot service paths against a seeded store, H2 unless BENCHMARK_DB_URL names a MySQL database.
+ * Data sizes are JMH params, e.g.
+ * {@code -Djmh.args="ServiceBenchmarks -p events=5000 -p registrations=1000000"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServiceBenchmarks {
+    private static final int REGISTRATION_STUDENTS = 10_000;
+
+    @Param("200")
+    public int faculty;
+    @Param("1000")
+    public int events;
+    @Param("100000")
+    public int registrations;
+
+    private ConfigurableApplicationContext context;
+    private StudentService studentService;
+    private EventsService eventsService;
+    private FacultyService facultyService;
+    private CacheManager cacheManager;
+    private ObjectMapper objectMapper;
+
+    private List<Event> approvedEvents;
+    private List<Registration> eventRegistrations;
+    private long firstFreeStudent;
+    private final AtomicLong registrationCounter = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        int seededStudents = (registrations + events - 1) / events;
+        long firstStudent = BenchmarkApplication.seed(context.getBean(JdbcTemplate.class), faculty,
+                seededStudents + REGISTRATION_STUDENTS, events, registrations);
+        firstFreeStudent = firstStudent + seededStudents;
+        context.getBean(RegistrationCounters.class).rebuild();
+
+        studentService = context.getBean(StudentService.class);
+        eventsService = context.getBean(EventsService.class);
+        facultyService = context.getBean(FacultyService.class);
+        cacheManager = context.getBean(CacheManager.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        approvedEvents = eventsService.getAllEvents();
+        eventRegistrations = facultyService.findAllByEventId(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Registration registerStudent() {
+        long n = registrationCounter.getAndIncrement();
+        Registration registration = new Registration();
+        registration.setEventId(n % events + 1);
+        registration.setStudentId(firstFreeStudent + (n / events) % REGISTRATION_STUDENTS);
+        return studentService.registerStudent(registration);
+    }
+
+    @Benchmark
+    public List<Event> getAllEvents() {
+        return eventsService.getAllEvents();
+    }
+
+    @Benchmark
+    public List<Event> getAllEventsUncached() {
+        cacheManager.getCache(EventsService.APPROVED_EVENTS_CACHE).clear();
+        return eventsService.getAllEvents();
+    }
+
+    @Benchmark
+    public List<Event> getAllEventProposalsById() {
+        return eventsService.getAllEventProposalsById(ThreadLocalRandom.current().nextLong(1, faculty + 1));
+    }
+
+    @Benchmark
+    public List<Registration> findAllByEventId() {
+        return facultyService.findAllByEventId(ThreadLocalRandom.current().nextLong(1, events + 1));
+    }
+
+    @Benchmark
+    public byte[] serializeApprovedEvents() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(approvedEvents);
+    }
+
+    @Benchmark
+    public byte[] serializeEventRegistrations() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(eventRegistrations);
+    }
+}
@@ -0,0 +1,43 @@
+package com.project.college_event_backend.config;
+
+import com.project.college_event_backend.model.AuthPrincipal;
+import com.project.college_event_backend.service.RateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+    @Autowired
+    private RateLimiter limiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        RateLimited limit = method.getMethodAnnotation(RateLimited.class);
+        if (limit == null) {
+            return true;
+        }
+        AuthPrincipal principal = (AuthPrincipal) request.getAttribute(AuthPrincipal.ATTRIBUTE);
+        // Behind a proxy listed in server.tomcat.remoteip.internal-proxies, Tomcat has already
+        // replaced the remote address with the client from X-Forwarded-For
+        String client = principal != null ? "user:" + principal.id() : "ip:" + request.getRemoteAddr();
+        long waitNanos = limiter.tryAcquire(limit.value(), client);
+        if (waitNanos > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER,
+                    Long.toString(Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1))));
+            return false;
+        }
+        return true;
+    }
+}
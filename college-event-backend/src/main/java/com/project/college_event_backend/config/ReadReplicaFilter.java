@@ -0,0 +1,71 @@
+package com.project.college_event_backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Lets read-only transactions of GET requests use a read replica. Every write answers with a
+ * Read-Primary-Until time replicas.sticky-ms ahead; a client that sends it back keeps reading
+ * from the primary until then on whichever instance serves it, so it sees what it just changed
+ * even while the replicas catch up.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 30)
+@ConditionalOnProperty(name = "replicas.enabled", havingValue = "true")
+public class ReadReplicaFilter extends OncePerRequestFilter {
+    public static final String READ_PRIMARY_UNTIL = "Read-Primary-Until";
+
+    private final long stickyMs;
+
+    public ReadReplicaFilter(@Value("${replicas.sticky-ms:5000}") long stickyMs) {
+        this.stickyMs = stickyMs;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean read = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+        if (!read) {
+            response.setHeader(READ_PRIMARY_UNTIL, Long.toString(System.currentTimeMillis() + stickyMs));
+            chain.doFilter(request, response);
+            return;
+        }
+        if (readsPrimary(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        ReplicaRoutingDataSource.allowReplicaReads();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.clearReplicaReads();
+        }
+    }
+
+    private static boolean readsPrimary(HttpServletRequest request) {
+        String until = request.getHeader(READ_PRIMARY_UNTIL);
+        if (until == null) {
+            return false;
+        }
+        try {
+            return Long.parseLong(until) > System.currentTimeMillis();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.project.college_event_backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out replica connections for read-only transactions on threads that allow it (see
+ * ReadReplicaFilter) and primary connections for everything else. Replicas are used round robin
+ * and probed on a schedule; one that stops answering or falls more than max-lag seconds behind
+ * is taken out of rotation, and a replica that refuses a connection is marked down at once with
+ * the read falling back to the primary. A request stays on the first replica it reads from, so a
+ * later read in it never sees older data than an earlier one. Must sit behind a LazyConnectionDataSourceProxy so the
+ * read-only flag is known before the connection is fetched.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    private static final ThreadLocal<Boolean> REPLICA_READS = new ThreadLocal<>();
+    private static final ThreadLocal<Replica> PINNED = new ThreadLocal<>();
+    private static final int PROBE_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final long maxLagSeconds;
+
+    private static final class Replica {
+        final String name;
+        final DataSource dataSource;
+        volatile boolean healthy = true;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, long maxLagSeconds) {
+        this.primary = primary;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    public static void allowReplicaReads() {
+        REPLICA_READS.set(Boolean.TRUE);
+    }
+
+    public static void clearReplicaReads() {
+        REPLICA_READS.remove();
+        PINNED.remove();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = route();
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException e) {
+            markDown(replica, e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Replica replica = route();
+        if (replica == null) {
+            return primary.getConnection(username, password);
+        }
+        try {
+            return replica.dataSource.getConnection(username, password);
+        } catch (SQLException e) {
+            markDown(replica, e.getMessage());
+            return primary.getConnection(username, password);
+        }
+    }
+
+    public int healthyReplicas() {
+        int healthy = 0;
+        for (Replica replica : replicas) {
+            if (replica.healthy) {
+                healthy++;
+            }
+        }
+        return healthy;
+    }
+
+    @Scheduled(fixedDelayString = "${replicas.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            String problem = probe(replica);
+            if (problem != null) {
+                markDown(replica, problem);
+            } else if (!replica.healthy) {
+                replica.healthy = true;
+                log.info("Read replica {} is back in rotation", replica.name);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private Replica route() {
+        if (!Boolean.TRUE.equals(REPLICA_READS.get()) || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return null;
+        }
+        Replica pinned = PINNED.get();
+        if (pinned != null) {
+            // Another replica may be further behind; the primary never is
+            return pinned.healthy ? pinned : null;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                PINNED.set(replica);
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void markDown(Replica replica, String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Read replica {} taken out of rotation: {}", replica.name, reason);
+        }
+    }
+
+    private String probe(Replica replica) {
+        try (Connection con = replica.dataSource.getConnection()) {
+            if (!con.isValid(PROBE_TIMEOUT_SECONDS)) {
+                return "connection is not valid";
+            }
+            if (maxLagSeconds <= 0) {
+                return null;
+            }
+            try (Statement statement = con.createStatement();
+                 ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+                if (!rs.next()) {
+                    return "replication is not configured";
+                }
+                long lag = rs.getLong("Seconds_Behind_Source");
+                if (rs.wasNull()) {
+                    return "replication is stopped";
+                }
+                return lag > maxLagSeconds ? lag + "s behind the primary" : null;
+            }
+        } catch (SQLException e) {
+            return e.getMessage();
+        }
+    }
+}
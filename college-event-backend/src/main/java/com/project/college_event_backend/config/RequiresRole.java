@@ -0,0 +1,16 @@
+package com.project.college_event_backend.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Restricts a controller or handler method to callers whose token carries one of the given roles.
+ * A method-level annotation overrides the one on its class.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequiresRole {
+    String[] value();
+}
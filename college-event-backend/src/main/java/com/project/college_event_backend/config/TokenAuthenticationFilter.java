@@ -0,0 +1,66 @@
+package com.project.college_event_backend.config;
+
+import com.project.college_event_backend.model.AuthPrincipal;
+import com.project.college_event_backend.service.TokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Resolves the caller from the bearer token and attaches it to the request without touching
+ * the database. Reads stay open to anonymous callers; any other API request needs a valid token.
+ * EventSource cannot set headers, so the change feed also accepts the token as access_token.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+    private static final String BEARER = "Bearer ";
+
+    @Autowired
+    private TokenService tokens;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith("/api/") || path.startsWith("/api/auth/") || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = null;
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && authorization.startsWith(BEARER)) {
+            token = authorization.substring(BEARER.length()).trim();
+        } else if (request.getRequestURI().startsWith("/api/events/proposal-changes/")) {
+            token = request.getParameter("access_token");
+        }
+
+        if (token != null) {
+            AuthPrincipal principal = tokens.verify(token);
+            if (principal == null) {
+                reject(response, "Bearer error=\"invalid_token\"");
+                return;
+            }
+            request.setAttribute(AuthPrincipal.ATTRIBUTE, principal);
+        } else if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            reject(response, "Bearer");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private static void reject(HttpServletResponse response, String challenge) {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, challenge);
+    }
+}
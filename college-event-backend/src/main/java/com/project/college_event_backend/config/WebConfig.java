@@ -0,0 +1,29 @@
+package com.project.college_event_backend.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+    @Autowired
+    private RateLimitInterceptor rateLimitInterceptor;
+    @Autowired
+    private RoleInterceptor roleInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/**");
+        registry.addInterceptor(roleInterceptor).addPathPatterns("/api/**");
+    }
+
+    @Override
+    public void addCorsMappings(CorsRegistry registry) {
+        // Combined with each controller's @CrossOrigin; lets the dashboard read the header back
+        registry.addMapping("/api/**")
+                .allowedOrigins("http://localhost:3000")
+                .exposedHeaders(ReadReplicaFilter.READ_PRIMARY_UNTIL);
+    }
+}
@@ -1,14 +1,25 @@
 package com.project.college_event_backend.controller;
 
+import com.project.college_event_backend.config.RequiresRole;
+import com.project.college_event_backend.model.BulkEventOutcome;
+import com.project.college_event_backend.model.BulkEventUpdate;
 import com.project.college_event_backend.model.Event;
 import com.project.college_event_backend.model.User;
 import com.project.college_event_backend.service.AdminService;
 import com.project.college_event_backend.service.EventsService;
+import com.project.college_event_backend.service.RegistrationCounters;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
 @RestController
+@RequiresRole("admin")
 @RequestMapping("/api/admin")
 @CrossOrigin(origins = "http://localhost:3000")
 public class AdminController {
@@ -16,13 +27,17 @@ public class AdminController {
     private AdminService adminService;
     @Autowired
     private EventsService eventService;
+    @Autowired
+    private RegistrationCounters counters;
     @PostMapping("/add-faculty")
     public ResponseEntity<User> addNewFaculty(@RequestBody User req){
-        User existingUser = adminService.FindByEmailAndPassword(req.getEmail(),req.getPassword());
-        if(existingUser == null){
+        if(!req.hasSignUpFields()){
+            return ResponseEntity.badRequest().build();
+        }
+        if(!adminService.emailExists(req.getEmail())){
             req.setRole("faculty");
             adminService.save(req);
-            return ResponseEntity.status(201).body(existingUser);
+            return ResponseEntity.status(201).build();
         }else{
             return ResponseEntity.status(409).build();
         }
@@ -30,9 +45,17 @@ public class AdminController {
 
     @PutMapping("/modify-event/{id}")
     public ResponseEntity<Event> modifyRemark(@PathVariable long id,@RequestBody Event event){
+        if(event.getVersion() == null){
+            return ResponseEntity.status(428).build();
+        }
 //        Event getEvent = eventService.getEventById(EventId);
 //
-            Event updatedEvent = eventService.updateEvent(id,event);
+        Event updatedEvent;
+        try {
+            updatedEvent = eventService.updateEvent(id,event);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).build();
+        }
         if(updatedEvent != null){
             return ResponseEntity.status(200).body(updatedEvent);
         }
@@ -41,4 +64,23 @@ public class AdminController {
         }
     }
 
+    @PutMapping("/modify-events")
+    public ResponseEntity<List<BulkEventOutcome>> modifyEvents(@RequestBody BulkEventUpdate req){
+        if(req.getIds() == null){
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(eventService.bulkUpdate(req.getIds(), req.getStatus(), req.getRemark()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/stats/registrations-per-day")
+    public ResponseEntity<Map<LocalDate, Long>> registrationsPerDay(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to){
+        return ResponseEntity.ok(counters.perDay(from, to));
+    }
+
 }
@@ -0,0 +1,54 @@
+package com.project.college_event_backend.controller;
+
+import com.project.college_event_backend.config.RequiresRole;
+import com.project.college_event_backend.model.Event;
+import com.project.college_event_backend.model.Registration;
+import com.project.college_event_backend.service.EventArchiver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequiresRole("admin")
+@RequestMapping("/api/admin/archive")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ArchiveController {
+    @Autowired
+    private EventArchiver archiver;
+
+    @GetMapping("/events")
+    public ResponseEntity<List<Event>> archivedEvents(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                      @RequestParam(defaultValue = "100") int limit){
+        List<Event> events = archiver.archivedEvents(from, to, limit);
+        if(events.isEmpty()){
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(events);
+    }
+
+    @GetMapping("/events/{eventId}/registrations")
+    public ResponseEntity<List<Registration>> archivedRegistrations(@PathVariable long eventId){
+        return ResponseEntity.ok(archiver.archivedRegistrations(eventId));
+    }
+
+    @PostMapping("/events/{eventId}/rehydrate")
+    public ResponseEntity<Event> rehydrate(@PathVariable long eventId){
+        Event event = archiver.rehydrate(eventId);
+        if(event != null){
+            return ResponseEntity.ok(event);
+        }else{
+            return ResponseEntity.status(404).build();
+        }
+    }
+
+    @PostMapping("/run")
+    public ResponseEntity<Map<String, Integer>> archiveBefore(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate before){
+        return ResponseEntity.ok(Map.of("archivedEvents", archiver.archiveBefore(before)));
+    }
+}
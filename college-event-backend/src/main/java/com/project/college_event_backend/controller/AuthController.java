@@ -1,7 +1,11 @@
 package com.project.college_event_backend.controller;
 
+import com.project.college_event_backend.config.RateLimited;
+import com.project.college_event_backend.model.LoginResponse;
 import com.project.college_event_backend.model.User;
 import com.project.college_event_backend.service.AuthService;
+import com.project.college_event_backend.service.TokenService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -12,21 +16,35 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
     @Autowired
     private AuthService service;
+    @Autowired
+    private TokenService tokens;
 
+    @RateLimited("login")
     @PostMapping("/login")
-    public ResponseEntity<User> login(@RequestBody User req){
-        User user = service.findByEmailAndPasswordAndRole(req.getEmail(),req.getPassword(),req.getRole());
-        return user != null ? ResponseEntity.ok(user) : ResponseEntity.status(404).build();
+    public ResponseEntity<LoginResponse> login(@RequestBody User req, HttpServletRequest request){
+        if(req.getEmail() == null || req.getPassword() == null){
+            return ResponseEntity.badRequest().build();
+        }
+        User user = service.authenticate(req.getEmail(),req.getPassword(),req.getRole(),request.getRemoteAddr());
+        if(user == null){
+            return ResponseEntity.status(404).build();
+        }
+        TokenService.IssuedToken issued = tokens.issue(user);
+        return ResponseEntity.ok(new LoginResponse(user.getId(), user.getName(), user.getEmail(), user.getRole(),
+                issued.token(), issued.expiresAt()));
     }
 
+    @RateLimited("signup")
     @PostMapping("/register")
     public ResponseEntity<User> register(@RequestBody User req){
-        User existingUser = service.findByEmailAndPassword(req.getEmail(),req.getPassword());
-        if(existingUser != null){
+        if(!req.hasSignUpFields()){
+            return ResponseEntity.badRequest().build();
+        }
+        if(service.emailExists(req.getEmail())){
             return ResponseEntity.status(409).build();
         }else{
+            req.setRole("student");
             User newUser = service.save(req);
-            newUser.setRole("student"); 
             return ResponseEntity.status(201).body(newUser);
         }
     }
@@ -1,72 +1,173 @@
 package com.project.college_event_backend.controller;
 
+import com.project.college_event_backend.config.RequiresRole;
+import com.project.college_event_backend.model.AuthPrincipal;
+import com.project.college_event_backend.model.BulkEventOutcome;
+import com.project.college_event_backend.model.BulkEventUpdate;
 import com.project.college_event_backend.model.Event;
+import com.project.college_event_backend.model.EventPatch;
+import com.project.college_event_backend.model.EventSummary;
+import com.project.college_event_backend.model.EventSummaryPage;
+import com.project.college_event_backend.service.CollectionVersions;
+import com.project.college_event_backend.service.EventChangeFeed;
 import com.project.college_event_backend.service.EventsService;
+import com.project.college_event_backend.service.IdempotencyStore;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/events")
 @CrossOrigin(origins = "http://localhost:3000")
 public class EventController {
+    private static final String PENDING = "Pending";
+
     @Autowired
     private EventsService service;
+    @Autowired
+    private EventChangeFeed changeFeed;
+    @Autowired
+    private CollectionVersions versions;
+    @Autowired
+    private IdempotencyStore idempotency;
 
 @GetMapping("/all-events")
-    public ResponseEntity<List<Event>> getAllEvents(){
+    public ResponseEntity<List<Event>> getAllEvents(WebRequest request){
+    if(notModified(request, CollectionVersions.APPROVED_EVENTS)){
+        return null;
+    }
     List<Event> allEvents = service.getAllEvents();
     if(allEvents.isEmpty()){
         return ResponseEntity.noContent().build();
     }else{
-        return ResponseEntity.ok(allEvents);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(allEvents);
     }
 }
 
-@PostMapping("/create-event")
-    public ResponseEntity<Event> createEvent(@RequestBody Event req){
-    Event event = service.save(req);
-    if(event != null){
-        return ResponseEntity.status(201).body(event);
+@GetMapping("/all-events/page")
+    public ResponseEntity<EventSummaryPage> getAllEventsPage(@RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = "20") int size,
+                                                             WebRequest request){
+    if(notModified(request, CollectionVersions.APPROVED_EVENTS)){
+        return null;
     }
-    else{
-        return ResponseEntity.status(400).build();
+    return summaryPage("Approved", cursor, size);
+}
+
+@GetMapping("/search")
+    public ResponseEntity<List<EventSummary>> search(@RequestParam(required = false) String q,
+                                                     @RequestParam(defaultValue = "Approved") String status,
+                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                     @RequestParam(defaultValue = "20") int limit){
+    List<EventSummary> results = service.search(q, "all".equalsIgnoreCase(status) ? null : status, from, to, limit);
+    if(results.isEmpty()){
+        return ResponseEntity.noContent().build();
     }
+    return ResponseEntity.ok(results);
 }
-    @PostMapping("/request-event")
-    public ResponseEntity<Event> EventProposalFromFaculty(@RequestBody Event req){
-        req.setStatus("Pending");
-        Event newEvent = service.EventProposalFromFaculty(req);
 
-        if(newEvent != null){
-            return ResponseEntity.status(201).body(newEvent);
-        }else{
+@RequiresRole("admin")
+@PostMapping("/create-event")
+    public ResponseEntity<?> createEvent(@RequestBody Event req,
+                                         @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+                                         @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal caller){
+    return idempotency.execute(idempotencyKey, "create-event", caller, req, () -> {
+        Event event = service.save(req);
+        if(event != null){
+            return ResponseEntity.status(201).body(event);
+        }
+        else{
             return ResponseEntity.status(400).build();
         }
+    });
+}
+    @RequiresRole({"faculty", "admin"})
+    @PostMapping("/request-event")
+    public ResponseEntity<?> EventProposalFromFaculty(@RequestBody Event req,
+                                                      @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+                                                      @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal caller){
+        return idempotency.execute(idempotencyKey, "request-event", caller, req, () -> {
+            req.setStatus(PENDING);
+            if(!caller.isAdmin()){
+                req.setFacultyId(caller.id());
+            }
+            Event newEvent = service.EventProposalFromFaculty(req);
+
+            if(newEvent != null){
+                return ResponseEntity.status(201).body(newEvent);
+            }else{
+                return ResponseEntity.status(400).build();
+            }
+        });
     }
 
+    @RequiresRole("admin")
     @GetMapping("/all-requested-events")
-    public ResponseEntity <List<Event>> EventRequestForAdmin(){
+    public ResponseEntity <List<Event>> EventRequestForAdmin(WebRequest request){
+        if(notModified(request, CollectionVersions.ALL_EVENTS)){
+            return null;
+        }
         List<Event>allRequestedEvents = service.getAllEventProposals();
         if(allRequestedEvents.isEmpty()){
             return ResponseEntity.noContent().build();
         }else{
-            return ResponseEntity.ok(allRequestedEvents);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(allRequestedEvents);
+        }
+    }
+
+    @RequiresRole("admin")
+    @GetMapping("/all-requested-events/page")
+    public ResponseEntity<EventSummaryPage> EventRequestForAdminPage(@RequestParam(required = false) String cursor,
+                                                                     @RequestParam(defaultValue = "20") int size,
+                                                                     WebRequest request){
+        if(notModified(request, CollectionVersions.ALL_EVENTS)){
+            return null;
         }
+        return summaryPage(null, cursor, size);
     }
 
+    @RequiresRole({"faculty", "admin"})
     @GetMapping("/all-requested-events/{id}")
-    public ResponseEntity <List<Event>> EventRequestForAdmin(@PathVariable long id){
+    public ResponseEntity <List<Event>> EventRequestForAdmin(@PathVariable long id, WebRequest request,
+                                                             @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal caller){
+        if(!caller.actsFor(id)){
+            return ResponseEntity.status(403).build();
+        }
+        if(notModified(request, CollectionVersions.eventsOfFaculty(id))){
+            return null;
+        }
         List<Event>allRequestedEvents = service.getAllEventProposalsById(id);
         if(allRequestedEvents.isEmpty()){
             return ResponseEntity.noContent().build();
         }else{
-            return ResponseEntity.ok(allRequestedEvents);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(allRequestedEvents);
+        }
+    }
+
+    @RequiresRole({"faculty", "admin"})
+    @GetMapping(value = "/proposal-changes/{facultyId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> proposalChanges(@PathVariable long facultyId,
+                                                      @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                                      @RequestParam(value = "since", required = false) Long since,
+                                                      @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal caller){
+        if(!caller.actsFor(facultyId)){
+            return ResponseEntity.status(403).build();
         }
+        return ResponseEntity.ok(changeFeed.subscribe(facultyId, lastEventId != null ? lastEventId : since));
     }
 
+    @RequiresRole("admin")
     @PostMapping("/approve-event/{id}")
     public ResponseEntity<?> approvedEvents(@PathVariable long id){
         Event eventProposal = service.getEventProposalById(id);
@@ -79,6 +180,7 @@ public class EventController {
         }
     }
 
+    @RequiresRole("admin")
     @PostMapping("/reject-event/{id}")
     public ResponseEntity<?> rejectEvent(@PathVariable long id){
         Event eventProposal = service.getEventProposalById(id);
@@ -91,38 +193,190 @@ public class EventController {
         }
     }
 
+    @RequiresRole("admin")
+    @PostMapping("/bulk-approve")
+    public ResponseEntity<List<BulkEventOutcome>> bulkApprove(@RequestBody BulkEventUpdate req){
+        return bulkUpdate(req.getIds(), "Approved", req.getRemark());
+    }
+
+    @RequiresRole("admin")
+    @PostMapping("/bulk-reject")
+    public ResponseEntity<List<BulkEventOutcome>> bulkReject(@RequestBody BulkEventUpdate req){
+        return bulkUpdate(req.getIds(), "Rejected", req.getRemark());
+    }
+
     @GetMapping("/event-by-id/{id}")
-    public ResponseEntity<Event> getEventById(@PathVariable long id){
+    public ResponseEntity<Event> getEventById(@PathVariable long id, WebRequest request){
+    if(notModified(request, CollectionVersions.event(id))){
+        return null;
+    }
     Event event = service.getEventById(id);
     if(event != null){
-        return ResponseEntity.ok(event);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(event);
     }else{
         return ResponseEntity.status(404).build();
     }
     }
 
+    @GetMapping(value = "/{id}/info", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> getEventInfo(@PathVariable long id, WebRequest request){
+        if(notModified(request, CollectionVersions.event(id))){
+            return null;
+        }
+        String info = service.getEventInfo(id);
+        if(info != null){
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(info);
+        }else{
+            return ResponseEntity.status(404).build();
+        }
+    }
+
+    @RequiresRole({"faculty", "admin"})
     @PutMapping("/edit-existing-event/{id}")
-    public ResponseEntity<Event> updateEvent(@PathVariable long id , @RequestBody Event updateEvent){
+    public ResponseEntity<Event> updateEvent(@PathVariable long id , @RequestBody Event updateEvent,
+                                             @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal caller){
+        if(updateEvent.getVersion() == null){
+            return ResponseEntity.status(428).build();
+        }
         Event existingEvent = service.getEventById(id);
         if(existingEvent != null){
-            Event updatedEvent = service.updateEvent(id,updateEvent);
-            //service.deleteEventByIdAndStatus(id);
-            return ResponseEntity.ok(updatedEvent);
+            if(!caller.isAdmin()){
+                if(!caller.actsFor(existingEvent.getFacultyId())
+                        || !facultyMaySet(updateEvent.getStatus(), existingEvent.getStatus())
+                        || !sameOrAbsent(updateEvent.getRemark(), existingEvent.getRemark())){
+                    return ResponseEntity.status(403).build();
+                }
+                if(updateEvent.getStatus() == null){
+                    updateEvent.setStatus(existingEvent.getStatus());
+                }
+                updateEvent.setRemark(existingEvent.getRemark());
+                updateEvent.setFacultyId(existingEvent.getFacultyId());
+            }
+            try {
+                Event updatedEvent = service.updateEvent(id,updateEvent);
+                //service.deleteEventByIdAndStatus(id);
+                return ResponseEntity.ok(updatedEvent);
+            } catch (OptimisticLockingFailureException e) {
+                return ResponseEntity.status(409).build();
+            }
         }
         else{
             return ResponseEntity.status(404).build();
         }
     }
 
-    @DeleteMapping("/delete-existing-event/{id}")
-    public ResponseEntity<?> deleteEvent(@PathVariable long id){
+    @RequiresRole({"faculty", "admin"})
+    @PatchMapping("/{id}")
+    public ResponseEntity<EventSummary> patchEvent(@PathVariable long id, @RequestBody EventPatch patch,
+                                                   @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal caller){
+        if(patch.getVersion() == null){
+            return ResponseEntity.status(428).build();
+        }
+        if(patch.clearsRequiredField()){
+            return ResponseEntity.status(400).build();
+        }
+        if(!caller.isAdmin()){
+            Event event = service.getEventById(id);
+            if(event == null){
+                return ResponseEntity.status(404).build();
+            }
+            if(!caller.actsFor(event.getFacultyId()) || !facultyMaySet(patch.getStatus(), event.getStatus())
+                    || patch.has("remark")){
+                return ResponseEntity.status(403).build();
+            }
+        }
+        try {
+            EventSummary patched = service.patchEvent(id, patch);
+            if(patched != null){
+                return ResponseEntity.ok(patched);
+            }else{
+                return ResponseEntity.status(404).build();
+            }
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).build();
+        }
+    }
+
+    @RequiresRole({"faculty", "admin"})
+    @PutMapping("/mark-remark-notified/{id}")
+    public ResponseEntity<?> markRemarkNotified(@PathVariable long id,
+                                                @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal caller){
         Event event = service.getEventById(id);
-        if(event != null){
-            service.deleteEvent(event);
-            return ResponseEntity.noContent().build();
-        }else{
+        if(event == null){
             return ResponseEntity.status(404).build();
         }
+        if(!caller.actsFor(event.getFacultyId())){
+            return ResponseEntity.status(403).build();
+        }
+        service.markRemarkNotified(event);
+        return ResponseEntity.noContent().build();
+    }
+
+    @RequiresRole({"faculty", "admin"})
+    @DeleteMapping("/delete-existing-event/{id}")
+    public ResponseEntity<?> deleteEvent(@PathVariable long id, @RequestParam(required = false) Long version,
+                                         @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal caller){
+        if(version == null){
+            return ResponseEntity.status(428).build();
+        }
+        if(!caller.isAdmin()){
+            Event event = service.getEventById(id);
+            if(event == null){
+                return ResponseEntity.status(404).build();
+            }
+            if(!caller.actsFor(event.getFacultyId())){
+                return ResponseEntity.status(403).build();
+            }
+        }
+        try {
+            if(service.deleteEvent(id, version)){
+                return ResponseEntity.noContent().build();
+            }else{
+                return ResponseEntity.status(404).build();
+            }
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).build();
+        }
+    }
+
+    /**
+     * Status and remark are the admin's review. Faculty may leave the status alone or send an
+     * edited event back for review by setting it to Pending, but never approve or reject it.
+     */
+    private static boolean facultyMaySet(String status, String current){
+        return sameOrAbsent(status, current) || PENDING.equals(status);
+    }
+
+    private static boolean sameOrAbsent(String requested, String current){
+        return requested == null || requested.equals(current);
+    }
+
+    private ResponseEntity<List<BulkEventOutcome>> bulkUpdate(List<Long> ids, String status, String remark){
+        if(ids == null){
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(service.bulkUpdate(ids, status, remark));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private ResponseEntity<EventSummaryPage> summaryPage(String status, String cursor, int size){
+        try {
+            EventSummaryPage page = service.getEventSummaries(status, cursor, size);
+            if(page.getItems().isEmpty()){
+                return ResponseEntity.noContent().build();
+            }
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(page);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private boolean notModified(WebRequest request, String collection){
+        CollectionVersions.Version version = versions.current(collection);
+        return request.checkNotModified(version.etag(), version.lastModified());
     }
 
 }
@@ -1,20 +1,41 @@
 package com.project.college_event_backend.controller;
 
+import com.project.college_event_backend.config.RequiresRole;
+import com.project.college_event_backend.model.AuthPrincipal;
 import com.project.college_event_backend.model.Registration;
+import com.project.college_event_backend.service.CollectionVersions;
 import com.project.college_event_backend.service.FacultyService;
+import com.project.college_event_backend.service.MetadataCache;
+import com.project.college_event_backend.service.RegistrationCounters;
+import com.project.college_event_backend.service.RegistrationExportService;
 import com.project.college_event_backend.service.StudentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 
 @CrossOrigin(origins = "http://localhost:3000")
 @RestController
+@RequiresRole({"faculty", "admin"})
 @RequestMapping("/api/faculty")
 public class FacultyController {
     @Autowired
     private FacultyService service;
+    @Autowired
+    private RegistrationExportService exportService;
+    @Autowired
+    private RegistrationCounters counters;
+    @Autowired
+    private CollectionVersions versions;
+    @Autowired
+    private MetadataCache metadataCache;
 
 //    @GetMapping("/all-registrations/{facultyId}")
 //    public ResponseEntity<List<Registration>> allRegisteredEventsByFacultyID(@PathVariable long facultyId){
@@ -27,13 +48,88 @@ public class FacultyController {
 //    }
 
     @GetMapping("/all-registrations/{eventId}")
-    public ResponseEntity<List<Registration>> allRegisteredEventsByEventID(@PathVariable long eventId){
+    public ResponseEntity<List<Registration>> allRegisteredEventsByEventID(@PathVariable long eventId,
+                                                                           WebRequest request,
+                                                                           @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal caller){
+        if(!ownsEvent(caller, eventId)){
+            return ResponseEntity.status(403).build();
+        }
+        if(notModified(request, CollectionVersions.registrationsOfEvent(eventId))){
+            return null;
+        }
         List<Registration> registrations = service.findAllByEventId(eventId);
         if(registrations != null){
-            return ResponseEntity.ok(registrations);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(registrations);
         }else{
             return ResponseEntity.status(404).build();
         }
     }
 
+    @GetMapping("/stats/event/{eventId}")
+    public ResponseEntity<Map<String, Long>> registrationCountByEventId(@PathVariable long eventId,
+                                                                        @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal caller){
+        if(!ownsEvent(caller, eventId)){
+            return ResponseEntity.status(403).build();
+        }
+        return ResponseEntity.ok(Map.of("eventId", eventId, "registrations", counters.forEvent(eventId)));
+    }
+
+    @GetMapping("/stats/faculty/{facultyId}")
+    public ResponseEntity<Map<String, Long>> registrationCountByFacultyId(@PathVariable long facultyId,
+                                                                          @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal caller){
+        if(!caller.actsFor(facultyId)){
+            return ResponseEntity.status(403).build();
+        }
+        return ResponseEntity.ok(Map.of("facultyId", facultyId, "registrations", counters.forFaculty(facultyId)));
+    }
+
+    @GetMapping("/export/event/{eventId}")
+    public ResponseEntity<StreamingResponseBody> exportByEventId(@PathVariable long eventId,
+                                                                 @RequestParam(defaultValue = "csv") String format,
+                                                                 @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal caller){
+        if(!ownsEvent(caller, eventId)){
+            return ResponseEntity.status(403).build();
+        }
+        if(!RegistrationExportService.isSupported(format)){
+            return ResponseEntity.badRequest().build();
+        }
+        return export("event-" + eventId, format, out -> exportService.exportByEvent(eventId, format, out));
+    }
+
+    @GetMapping("/export/faculty/{facultyId}")
+    public ResponseEntity<StreamingResponseBody> exportByFacultyId(@PathVariable long facultyId,
+                                                                   @RequestParam(defaultValue = "csv") String format,
+                                                                   @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal caller){
+        if(!caller.actsFor(facultyId)){
+            return ResponseEntity.status(403).build();
+        }
+        if(!RegistrationExportService.isSupported(format)){
+            return ResponseEntity.badRequest().build();
+        }
+        return export("faculty-" + facultyId, format, out -> exportService.exportByFaculty(facultyId, format, out));
+    }
+
+    /** Admins may read every event's registrations, faculty only those of their own events. */
+    private boolean ownsEvent(AuthPrincipal caller, long eventId){
+        if(caller.isAdmin()){
+            return true;
+        }
+        MetadataCache.EventMetadata event = metadataCache.event(eventId);
+        return event != null && caller.actsFor(event.facultyId());
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(String name, String format, StreamingResponseBody body){
+        boolean csv = RegistrationExportService.CSV.equals(format);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : new MediaType("application", "x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"registrations-" + name + (csv ? ".csv" : ".ndjson") + "\"")
+                .body(body);
+    }
+
+    private boolean notModified(WebRequest request, String collection){
+        CollectionVersions.Version version = versions.current(collection);
+        return request.checkNotModified(version.etag(), version.lastModified());
+    }
+
 }
@@ -1,13 +1,23 @@
 package com.project.college_event_backend.controller;
 
+import com.project.college_event_backend.config.RateLimited;
+import com.project.college_event_backend.config.RequiresRole;
+import com.project.college_event_backend.model.AuthPrincipal;
 import com.project.college_event_backend.model.Registration;
+import com.project.college_event_backend.model.RegistrationTicket;
+import com.project.college_event_backend.service.CollectionVersions;
+import com.project.college_event_backend.service.IdempotencyStore;
 import com.project.college_event_backend.service.StudentService;
 import org.apache.coyote.Response;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Set;
 
 @CrossOrigin(origins = "http://localhost:3000")
 @RestController
@@ -15,61 +25,158 @@ import java.util.List;
 public class StudentController {
     @Autowired
     private StudentService service;
+    @Autowired
+    private CollectionVersions versions;
+    @Autowired
+    private IdempotencyStore idempotency;
 
+    @RequiresRole("admin")
     @GetMapping("/all-registered-students")
-    public ResponseEntity<List<Registration>> registeredStudents(){
+    public ResponseEntity<List<Registration>> registeredStudents(WebRequest request){
+        if(notModified(request, CollectionVersions.ALL_REGISTRATIONS)){
+            return null;
+        }
         List<Registration> registered = service.getRegisteredStudents();
         if(registered != null){
-            return ResponseEntity.ok(registered);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(registered);
         }else{
             return ResponseEntity.status(404).build();
         }
     }
 
+    @RequiresRole({"student", "admin"})
+    @RateLimited("registration")
     @PostMapping("/register-student")
-    public ResponseEntity<Registration> register(@RequestBody Registration req){
-        Registration student = service.registerStudent(req);
-        if(student != null){
-            return ResponseEntity.status(201).body(student);
-        }else{
+    public ResponseEntity<?> register(@RequestBody Registration req,
+                                      @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+                                      @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal caller){
+        if(!caller.actsFor(req.getStudentId())){
+            return ResponseEntity.status(403).build();
+        }
+        return idempotency.execute(idempotencyKey, "register-student", caller, req, () -> {
+            if(service.isWriteBehindEnabled()){
+                RegistrationTicket ticket = service.enqueueRegistration(req);
+                if(ticket == null){
+                    return ResponseEntity.status(404).build();
+                }
+                if(!ticket.isQueued()){
+                    return ResponseEntity.status(503).header(HttpHeaders.RETRY_AFTER, "1").build();
+                }
+                return ResponseEntity.status(202).body(ticket);
+            }
+            Registration student = service.registerStudent(req);
+            if(student != null){
+                return ResponseEntity.status(201).body(student);
+            }else{
+                return ResponseEntity.status(404).build();
+            }
+        });
+    }
+
+    @RequiresRole({"student", "admin"})
+    @GetMapping("/registration-tickets/{ticket}")
+    public ResponseEntity<RegistrationTicket> ticketStatus(@PathVariable String ticket,
+                                                           @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal caller){
+        if(!caller.isAdmin() && !ticket.startsWith(caller.id() + "-")){
+            return ResponseEntity.status(403).build();
+        }
+        RegistrationTicket status = service.ticketStatus(ticket);
+        if(status == null){
             return ResponseEntity.status(404).build();
         }
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(status);
     }
 
+    @RequiresRole({"faculty", "admin"})
     @GetMapping("/get-students-by-faculty-id/{facultyId}")
-    public ResponseEntity<List<Registration>> studentsByFacultyId(@PathVariable long facultyId){
+    public ResponseEntity<List<Registration>> studentsByFacultyId(@PathVariable long facultyId, WebRequest request,
+                                                                  @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal caller){
+        if(!caller.actsFor(facultyId)){
+            return ResponseEntity.status(403).build();
+        }
+        if(notModified(request, CollectionVersions.registrationsOfFaculty(facultyId))){
+            return null;
+        }
         List<Registration> students = service.getStudentsByFacultyId(facultyId);
         if(students != null){
-            return ResponseEntity.ok(students);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(students);
         }else{
             return ResponseEntity.status(404).build();
         }
     }
 
-@GetMapping("/check-registration/{studentId}/{eventId}")
-    public ResponseEntity<Registration> checkStatus(@PathVariable long studentId, @PathVariable long eventId){
+    @RequiresRole({"student", "admin"})
+    @GetMapping("/check-registration/{studentId}/{eventId}")
+    public ResponseEntity<Registration> checkStatus(@PathVariable long studentId, @PathVariable long eventId,
+                                                    WebRequest request, @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal caller){
+        if(!caller.actsFor(studentId)){
+            return ResponseEntity.status(403).build();
+        }
+        if(notModified(request, CollectionVersions.registrationsOfStudent(studentId))){
+            return null;
+        }
         Registration registration = service.findByStudentIdAndEventId(studentId,eventId);
         if(registration != null){
-            return ResponseEntity.ok(registration);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(registration);
         }else{
             return ResponseEntity.status(404).build();
         }
     }
 
+    @RequiresRole({"student", "admin"})
+    @GetMapping("/registered-event-ids/{studentId}")
+    public ResponseEntity<List<Long>> registeredEventIds(@PathVariable long studentId, WebRequest request,
+                                                         @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal caller){
+        if(!caller.actsFor(studentId)){
+            return ResponseEntity.status(403).build();
+        }
+        if(notModified(request, CollectionVersions.registrationsOfStudent(studentId))){
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(service.registeredEventIds(studentId));
+    }
+
+    @RequiresRole({"student", "admin"})
+    @PostMapping("/check-registrations/{studentId}")
+    public ResponseEntity<List<Long>> checkStatuses(@PathVariable long studentId, @RequestBody Set<Long> eventIds,
+                                                    @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal caller){
+        if(!caller.actsFor(studentId)){
+            return ResponseEntity.status(403).build();
+        }
+        try {
+            return ResponseEntity.ok(service.registeredEventIds(studentId, eventIds));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @RequiresRole({"student", "admin"})
     @GetMapping("/all-events-registered-by-student/{studentId}")
-    public ResponseEntity<List<Registration>> allRegisteredEventsByStudent(@PathVariable long studentId){
+    public ResponseEntity<List<Registration>> allRegisteredEventsByStudent(@PathVariable long studentId,
+                                                                           WebRequest request,
+                                                                           @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal caller){
+        if(!caller.actsFor(studentId)){
+            return ResponseEntity.status(403).build();
+        }
+        if(notModified(request, CollectionVersions.registrationsOfStudent(studentId))){
+            return null;
+        }
         List<Registration>  Events = service.allRegisteredEventsByStudent(studentId);
         if(Events != null){
-            return ResponseEntity.ok(Events);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(Events);
         }else{
             return ResponseEntity.status(404).build();
         }
     }
 
+    @RequiresRole({"student", "admin"})
     @DeleteMapping("/delete-student")
-    public ResponseEntity<?> delete(@RequestBody Registration req){
+    public ResponseEntity<?> delete(@RequestBody Registration req, @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal caller){
         Registration student = service.findById(req.getId());
         if(student != null){
+            if(!caller.actsFor(student.getStudentId())){
+                return ResponseEntity.status(403).build();
+            }
             service.deleteRegistration(student);
             return ResponseEntity.noContent().build();
         }else{
@@ -77,4 +184,9 @@ public class StudentController {
         }
     }
 
+    private boolean notModified(WebRequest request, String collection){
+        CollectionVersions.Version version = versions.current(collection);
+        return request.checkNotModified(version.etag(), version.lastModified());
+    }
+
 }
@@ -0,0 +1,26 @@
+package com.project.college_event_backend.model;
+
+/**
+ * The caller resolved from a verified token, attached to the request under {@link #ATTRIBUTE}.
+ */
+public record AuthPrincipal(long id, String role, String name) {
+    public static final String ATTRIBUTE = "authPrincipal";
+
+    public boolean hasAnyRole(String... roles) {
+        for (String candidate : roles) {
+            if (candidate.equalsIgnoreCase(role)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isAdmin() {
+        return "admin".equalsIgnoreCase(role);
+    }
+
+    /** True when the caller is the given user, or an admin acting on their behalf. */
+    public boolean actsFor(long userId) {
+        return id == userId || isAdmin();
+    }
+}
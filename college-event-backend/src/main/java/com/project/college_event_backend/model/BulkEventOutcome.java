@@ -0,0 +1,13 @@
+package com.project.college_event_backend.model;
+
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkEventOutcome {
+    private long id;
+    private boolean updated;
+    private String status;
+    private String remark;
+}
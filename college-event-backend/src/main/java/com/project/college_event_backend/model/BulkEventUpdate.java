@@ -0,0 +1,14 @@
+package com.project.college_event_backend.model;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkEventUpdate {
+    private List<Long> ids;
+    private String status;
+    private String remark;
+}
@@ -1,12 +1,22 @@
 package com.project.college_event_backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.antlr.v4.runtime.misc.NotNull;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_event_status_date", columnList = "status, date"),
+        @Index(name = "idx_event_date_id", columnList = "date, id"),
+        @Index(name = "idx_event_faculty", columnList = "facultyId")
+})
+@DynamicUpdate
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -21,10 +31,22 @@ public class Event {
     private String description;
     private String status;
     private String remark;
+    @Column(nullable = false)
+    private boolean remarkNotified;
     private String facultyName;
-    @Lob
-    @Column(nullable = false, columnDefinition = "TEXT")
+    private Integer capacity;
+    @Transient
     private String info;
+    @UpdateTimestamp
+    private Instant lastModified;
+    @Version
+    private Long version;
+    @JsonIgnore
+    private LocalDate archiveHoldUntil;
+    // Maintained only by SeatAllocator's UPDATEs, never written from the entity.
+    @JsonIgnore
+    @Column(insertable = false, updatable = false, columnDefinition = "INT NOT NULL DEFAULT 0")
+    private int seatsTaken;
 
     public String getInfo() {
         return info;
@@ -98,6 +120,14 @@ public class Event {
         this.status = status;
     }
 
+    public boolean isRemarkNotified() {
+        return remarkNotified;
+    }
+
+    public void setRemarkNotified(boolean remarkNotified) {
+        this.remarkNotified = remarkNotified;
+    }
+
     public String getFacultyName() {
         return facultyName;
     }
@@ -105,4 +135,44 @@ public class Event {
     public void setFacultyName(String facultyName) {
         this.facultyName = facultyName;
     }
+
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDate getArchiveHoldUntil() {
+        return archiveHoldUntil;
+    }
+
+    public void setArchiveHoldUntil(LocalDate archiveHoldUntil) {
+        this.archiveHoldUntil = archiveHoldUntil;
+    }
+
+    public int getSeatsTaken() {
+        return seatsTaken;
+    }
+
+    public void setSeatsTaken(int seatsTaken) {
+        this.seatsTaken = seatsTaken;
+    }
 }
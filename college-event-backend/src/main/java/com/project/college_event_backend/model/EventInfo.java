@@ -0,0 +1,19 @@
+package com.project.college_event_backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "event_info")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventInfo {
+    @Id
+    private long eventId;
+    @Column(nullable = false, length = 8)
+    private String encoding;
+    @Lob
+    @Column(nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] content;
+}
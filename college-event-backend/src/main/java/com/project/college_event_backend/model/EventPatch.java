@@ -0,0 +1,80 @@
+package com.project.college_event_backend.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The fields of a PATCH body. Setters record which fields the request named, so an explicit
+ * null clears a nullable field (venue, description, remark, capacity) instead of being ignored.
+ */
+@Data
+@NoArgsConstructor
+public class EventPatch {
+    private Long version;
+    private String title;
+    private String venue;
+    private String description;
+    private LocalDate date;
+    private String status;
+    private String remark;
+    private Integer capacity;
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private Set<String> provided = new HashSet<>();
+
+    public void setTitle(String title) {
+        this.title = title;
+        provided.add("title");
+    }
+
+    public void setVenue(String venue) {
+        this.venue = venue;
+        provided.add("venue");
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+        provided.add("description");
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+        provided.add("date");
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+        provided.add("status");
+    }
+
+    public void setRemark(String remark) {
+        this.remark = remark;
+        provided.add("remark");
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+        provided.add("capacity");
+    }
+
+    public boolean has(String field) {
+        return provided.contains(field);
+    }
+
+    /** True when the body sets title, date or status to null, which the event cannot hold. */
+    public boolean clearsRequiredField() {
+        return (has("title") && title == null) || (has("date") && date == null) || (has("status") && status == null);
+    }
+
+    public boolean changesText() {
+        return has("title") || has("venue") || has("description") || has("date");
+    }
+
+    public boolean changesStatus() {
+        return has("status") || has("remark");
+    }
+}
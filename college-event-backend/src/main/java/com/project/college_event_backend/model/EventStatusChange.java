@@ -0,0 +1,17 @@
+package com.project.college_event_backend.model;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventStatusChange {
+    private long sequence;
+    private long eventId;
+    private long facultyId;
+    private String status;
+    private String remark;
+    private Instant changedAt;
+}
@@ -0,0 +1,15 @@
+package com.project.college_event_backend.model;
+
+import java.time.LocalDate;
+
+public interface EventSummary {
+    Long getId();
+    Long getFacultyId();
+    String getTitle();
+    String getVenue();
+    LocalDate getDate();
+    String getStatus();
+    String getRemark();
+    String getFacultyName();
+    Long getVersion();
+}
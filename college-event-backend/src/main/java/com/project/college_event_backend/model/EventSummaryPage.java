@@ -0,0 +1,13 @@
+package com.project.college_event_backend.model;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventSummaryPage {
+    private List<EventSummary> items;
+    private String nextCursor;
+}
@@ -0,0 +1,17 @@
+package com.project.college_event_backend.model;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoginResponse {
+    private long id;
+    private String name;
+    private String email;
+    private String role;
+    private String token;
+    private Instant expiresAt;
+}
@@ -1,19 +1,26 @@
 package com.project.college_event_backend.model;
 
-import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
-import jakarta.persistence.Id;
+import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = "uk_registration_student_event", columnNames = {"studentId", "eventId"}),
+        indexes = {
+                @Index(name = "idx_registration_event", columnList = "eventId"),
+                @Index(name = "idx_registration_faculty", columnList = "facultyId")
+        })
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class Registration {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "registration_seq")
+    @SequenceGenerator(name = "registration_seq", sequenceName = "registration_seq", allocationSize = 50)
     private long id;
     private long eventId;
     private long studentId;
@@ -22,6 +29,8 @@ public class Registration {
     private String studentName;
     private long facultyId;
     private String facultyName;
+    @UpdateTimestamp
+    private Instant lastModified;
 
     public long getFacultyId() {
         return facultyId;
@@ -86,4 +95,12 @@ public class Registration {
     public void setDate(LocalDate date) {
         this.date = date;
     }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
 }
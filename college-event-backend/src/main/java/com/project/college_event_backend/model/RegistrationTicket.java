@@ -0,0 +1,14 @@
+package com.project.college_event_backend.model;
+
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RegistrationTicket {
+    private String ticket;
+    private long eventId;
+    private long studentId;
+    private String status;
+    private boolean queued;
+}
@@ -1,13 +1,12 @@
 package com.project.college_event_backend.model;
 
-import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
-import jakarta.persistence.Id;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
 import lombok.*;
 
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_user_email", columnNames = "email"))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -16,9 +15,16 @@ public class User {
     private long id;
     private String name;
     private String email;
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
     private String role;
 
+    /** True when the fields every new account needs are filled in. */
+    public boolean hasSignUpFields() {
+        return name != null && !name.isBlank() && email != null && !email.isBlank()
+                && password != null && !password.isEmpty();
+    }
+
     public long getId() {
         return id;
     }
@@ -0,0 +1,11 @@
+package com.project.college_event_backend.repository;
+
+import com.project.college_event_backend.model.EventInfo;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface EventInfoRepository extends JpaRepository<EventInfo, Long> {
+    List<EventInfo> findByEventIdIn(Collection<Long> eventIds);
+}
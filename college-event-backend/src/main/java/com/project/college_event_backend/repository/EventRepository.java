@@ -1,12 +1,16 @@
 package com.project.college_event_backend.repository;
 
 import com.project.college_event_backend.model.Event;
+import com.project.college_event_backend.model.EventSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface EventRepository extends JpaRepository<Event, Long> {
@@ -17,9 +21,115 @@ public interface EventRepository extends JpaRepository<Event, Long> {
 
     @Transactional
     @Modifying
-    @Query("UPDATE Event e SET e.remark = :remark WHERE e.id = :id")
+    @Query("UPDATE Event e SET e.remark = :remark, e.remarkNotified = false, e.version = e.version + 1, e.lastModified = CURRENT_TIMESTAMP " +
+            "WHERE e.id = :id")
     int addRemarkWithEventId(@Param("remark") String remark,@Param("id") long id);
 
+    @Transactional
+    @Modifying
+    @Query("UPDATE Event e SET e.status = COALESCE(:status, e.status), e.remark = COALESCE(:remark, e.remark), " +
+            "e.remarkNotified = CASE WHEN :remark IS NULL THEN e.remarkNotified ELSE false END, " +
+            "e.version = e.version + 1, e.lastModified = CURRENT_TIMESTAMP WHERE e.id IN :ids")
+    int updateStatusAndRemark(@Param("ids") Collection<Long> ids,
+                              @Param("status") String status,
+                              @Param("remark") String remark);
+
+    @Transactional
+    @Modifying
+    // title, date and status are never null, so null leaves them alone; the nullable fields take
+    // an explicit set flag so a patch can clear them.
+    @Query("UPDATE Event e SET e.title = COALESCE(:title, e.title), " +
+            "e.venue = CASE WHEN :setVenue = true THEN :venue ELSE e.venue END, " +
+            "e.description = CASE WHEN :setDescription = true THEN :description ELSE e.description END, " +
+            "e.date = COALESCE(:date, e.date), e.status = COALESCE(:status, e.status), " +
+            "e.remark = CASE WHEN :setRemark = true THEN :remark ELSE e.remark END, " +
+            "e.remarkNotified = CASE WHEN :setRemark = true THEN false ELSE e.remarkNotified END, " +
+            "e.capacity = CASE WHEN :setCapacity = true THEN :capacity ELSE e.capacity END, " +
+            "e.version = e.version + 1, e.lastModified = CURRENT_TIMESTAMP " +
+            "WHERE e.id = :id AND e.version = :version")
+    int patch(@Param("id") long id,
+              @Param("version") long version,
+              @Param("title") String title,
+              @Param("setVenue") boolean setVenue,
+              @Param("venue") String venue,
+              @Param("setDescription") boolean setDescription,
+              @Param("description") String description,
+              @Param("date") LocalDate date,
+              @Param("status") String status,
+              @Param("setRemark") boolean setRemark,
+              @Param("remark") String remark,
+              @Param("setCapacity") boolean setCapacity,
+              @Param("capacity") Integer capacity);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Event e WHERE e.id = :id AND e.version = :version")
+    int deleteByIdAndVersion(@Param("id") long id, @Param("version") long version);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Event e SET e.remarkNotified = true WHERE e.id = :id")
+    int markRemarkNotified(@Param("id") long id);
+
+    // Seat counts live on the event row so every instance decides against the same number. The
+    // row stays locked until the transaction that took the seat commits.
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE event SET seats_taken = seats_taken + 1 " +
+            "WHERE id = :id AND (capacity IS NULL OR seats_taken < capacity)", nativeQuery = true)
+    int takeSeat(@Param("id") long id);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE event SET seats_taken = seats_taken - 1 WHERE id = :id AND seats_taken > 0", nativeQuery = true)
+    int releaseSeat(@Param("id") long id);
+
+    @Query(value = "SELECT seats_taken FROM event WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Integer lockSeats(@Param("id") long id);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE event SET seats_taken = :taken WHERE id = :id", nativeQuery = true)
+    int setSeatsTaken(@Param("id") long id, @Param("taken") long taken);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE event SET seats_taken = GREATEST(seats_taken, :taken) WHERE id = :id", nativeQuery = true)
+    int raiseSeatsTaken(@Param("id") long id, @Param("taken") long taken);
+
     @Query("SELECT e FROM Event e WHERE e.id = :id")
     Event findByEventId(@Param("id") long id);
+
+    // One query per access path: an optional ":status IS NULL OR" filter would keep MySQL from
+    // using either idx_event_status_date or idx_event_date_id and fall back to scan + filesort.
+    @Query("SELECT e.id AS id, e.facultyId AS facultyId, e.title AS title, e.venue AS venue, e.date AS date, " +
+            "e.status AS status, e.remark AS remark, e.facultyName AS facultyName, e.version AS version " +
+            "FROM Event e WHERE e.status = :status ORDER BY e.date, e.id")
+    List<EventSummary> findSummaryPageByStatus(@Param("status") String status, Pageable pageable);
+
+    @Query("SELECT e.id AS id, e.facultyId AS facultyId, e.title AS title, e.venue AS venue, e.date AS date, " +
+            "e.status AS status, e.remark AS remark, e.facultyName AS facultyName, e.version AS version " +
+            "FROM Event e WHERE e.status = :status " +
+            "AND (e.date > :date OR (e.date = :date AND e.id > :id)) ORDER BY e.date, e.id")
+    List<EventSummary> findSummaryPageByStatusAfter(@Param("status") String status,
+                                                    @Param("date") LocalDate date,
+                                                    @Param("id") long id,
+                                                    Pageable pageable);
+
+    @Query("SELECT e.id AS id, e.facultyId AS facultyId, e.title AS title, e.venue AS venue, e.date AS date, " +
+            "e.status AS status, e.remark AS remark, e.facultyName AS facultyName, e.version AS version " +
+            "FROM Event e ORDER BY e.date, e.id")
+    List<EventSummary> findSummaryPage(Pageable pageable);
+
+    @Query("SELECT e.id AS id, e.facultyId AS facultyId, e.title AS title, e.venue AS venue, e.date AS date, " +
+            "e.status AS status, e.remark AS remark, e.facultyName AS facultyName, e.version AS version " +
+            "FROM Event e WHERE e.date > :date OR (e.date = :date AND e.id > :id) ORDER BY e.date, e.id")
+    List<EventSummary> findSummaryPageAfter(@Param("date") LocalDate date,
+                                            @Param("id") long id,
+                                            Pageable pageable);
+
+    @Query("SELECT e.id AS id, e.facultyId AS facultyId, e.title AS title, e.venue AS venue, e.date AS date, " +
+            "e.status AS status, e.remark AS remark, e.facultyName AS facultyName, e.version AS version " +
+            "FROM Event e WHERE e.id IN :ids")
+    List<EventSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -1,11 +1,18 @@
 package com.project.college_event_backend.repository;
 
 import com.project.college_event_backend.model.Registration;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Registration,Long> {
@@ -21,4 +28,45 @@ public interface StudentRepository extends JpaRepository<Registration,Long> {
 
 @Query("SELECT u FROM Registration u WHERE u.eventId = :eventId")
     List<Registration> findByEventId(long eventId);
+
+@Query("SELECT u.eventId FROM Registration u WHERE u.studentId = :studentId AND u.status = 'Registered'")
+    List<Long> findEventIdsByStudentId(long studentId);
+
+@Query("SELECT u.eventId FROM Registration u WHERE u.studentId = :studentId AND u.eventId IN :eventIds AND u.status = 'Registered'")
+    List<Long> findEventIdsByStudentIdAndEventIdIn(long studentId, Collection<Long> eventIds);
+
+@Query("SELECT COUNT(u) FROM Registration u WHERE u.eventId = :eventId AND u.status = 'Registered'")
+    long countRegistered(long eventId);
+
+@Query("SELECT u.id FROM Registration u WHERE u.eventId = :eventId AND u.status = 'Waitlisted' ORDER BY u.id")
+    List<Long> findWaitlistedIds(long eventId);
+
+    @Transactional
+    @Modifying
+@Query("UPDATE Registration u SET u.status = 'Registered', u.lastModified = CURRENT_TIMESTAMP WHERE u.id = :id AND u.status = 'Waitlisted'")
+    int promoteFromWaitlist(long id);
+
+    // Integer.MIN_VALUE makes MySQL Connector/J stream rows instead of buffering the whole result set.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+@Query("SELECT u FROM Registration u WHERE u.eventId = :eventId ORDER BY u.id")
+    Stream<Registration> streamByEventId(long eventId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+@Query("SELECT u FROM Registration u WHERE u.facultyId = :facultyId ORDER BY u.id")
+    Stream<Registration> streamByFacultyId(long facultyId);
+
+@Query("SELECT u.eventId, COUNT(u) FROM Registration u WHERE u.status = 'Registered' GROUP BY u.eventId")
+    List<Object[]> countByEvent();
+
+@Query("SELECT u.facultyId, COUNT(u) FROM Registration u WHERE u.status = 'Registered' GROUP BY u.facultyId")
+    List<Object[]> countByFaculty();
+
+@Query("SELECT u.date, COUNT(u) FROM Registration u WHERE u.date IS NOT NULL AND u.status = 'Registered' GROUP BY u.date")
+    List<Object[]> countByDate();
 }
@@ -16,13 +16,20 @@ public class AdminService {
     private UserRepository userRepo;
     @Autowired
     private EventRepository eventRepo;
+    @Autowired
+    private MetadataCache metadataCache;
+    @Autowired
+    private CredentialService credentials;
 
     public void save(User req) {
-         userRepo.save(req);
+         req.setPassword(credentials.hash(req.getPassword()));
+         User saved = userRepo.save(req);
+         credentials.forgetUnknown(saved.getEmail());
+         metadataCache.putUser(saved);
     }
 
-    public User FindByEmailAndPassword(String email, String password) {
-        return userRepo.findByEmailAndPassword(email,password);
+    public boolean emailExists(String email) {
+        return userRepo.existsByEmail(email);
     }
 
 //    public Event modifyRemarkWithEventId(String remark, long EventId) {
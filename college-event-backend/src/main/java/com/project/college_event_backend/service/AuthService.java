@@ -4,25 +4,47 @@ import com.project.college_event_backend.model.User;
 import com.project.college_event_backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.web.bind.annotation.PostMapping;
 
 @Service
 public class AuthService {
     @Autowired
     private UserRepository repo;
-
-
-    public User findByEmailAndPasswordAndRole(String email, String password, String role) {
-        return repo.findByEmailAndPasswordAndRole(email, password,role);
-
+    @Autowired
+    private MetadataCache metadataCache;
+    @Autowired
+    private CredentialService credentials;
+
+
+    public User authenticate(String email, String password, String role, String client) {
+        if (credentials.isKnownUnknown(email) || credentials.isLockedOut(email, client)) {
+            credentials.burnHash();
+            return null;
+        }
+        User user = repo.findByEmail(email);
+        if (user == null) {
+            credentials.rememberUnknown(email);
+            return null;
+        }
+        if (!credentials.matches(email, client, password, user.getPassword())) {
+            return null;
+        }
+        if (!credentials.isHashed(user.getPassword())) {
+            user.setPassword(credentials.hash(password));
+            repo.save(user);
+        }
+        return role == null || role.equals(user.getRole()) ? user : null;
     }
 
-    public User findByEmailAndPassword(String email, String password) {
-        return repo.findByEmailAndPassword(email,password);
+    public boolean emailExists(String email) {
+        return repo.existsByEmail(email);
     }
 
     public User save(User req) {
-        return repo.save(req);
+        req.setPassword(credentials.hash(req.getPassword()));
+        User saved = repo.save(req);
+        credentials.forgetUnknown(saved.getEmail());
+        metadataCache.putUser(saved);
+        return saved;
     }
 
 
@@ -0,0 +1,74 @@
+package com.project.college_event_backend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+
+/**
+ * Applies cache evictions made by other instances. Every write bumps its collections in
+ * collection_version (see CollectionVersions); this polls for rows changed since the last poll
+ * and evicts the matching entries here, so a peer's write is visible within
+ * cache-sync.interval-ms instead of the caches' expireAfterWrite.
+ */
+@Service
+public class CacheInvalidationPoller {
+    private static final String EVENT_PREFIX = "event:";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MetadataCache metadataCache;
+
+    // Rows stamped shortly before the previous poll may commit after it; look back this far again
+    @Value("${cache-sync.overlap-ms:5000}")
+    private long overlapMs;
+
+    private Timestamp watermark;
+
+    @Scheduled(fixedDelayString = "${cache-sync.interval-ms:2000}")
+    public synchronized void poll() {
+        if (watermark == null) {
+            watermark = jdbcTemplate.queryForObject("SELECT MAX(last_modified) FROM collection_version", Timestamp.class);
+            return;
+        }
+        Timestamp since = new Timestamp(watermark.getTime() - overlapMs);
+        jdbcTemplate.query("SELECT collection, last_modified FROM collection_version WHERE last_modified > ?", rs -> {
+            evict(rs.getString(1));
+            Timestamp modified = rs.getTimestamp(2);
+            if (modified.after(watermark)) {
+                watermark = modified;
+            }
+        }, since);
+    }
+
+    private void evict(String collection) {
+        if (collection.equals("*")) {
+            clear(EventsService.APPROVED_EVENTS_CACHE);
+            clear(EventsService.EVENT_BY_ID_CACHE);
+        } else if (collection.equals(CollectionVersions.APPROVED_EVENTS)) {
+            clear(EventsService.APPROVED_EVENTS_CACHE);
+        } else if (collection.startsWith(EVENT_PREFIX)) {
+            long eventId = Long.parseLong(collection.substring(EVENT_PREFIX.length()));
+            Cache eventById = cacheManager.getCache(EventsService.EVENT_BY_ID_CACHE);
+            if (eventById != null) {
+                eventById.evict(eventId);
+            }
+            metadataCache.evictEvent(eventId);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.project.college_event_backend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Per-collection change counters used to answer conditional GETs with one primary-key lookup.
+ * Every write path bumps the collections it affects in the collection_version table, so an ETag
+ * issued by one instance stays valid, and goes stale, on all of them.
+ */
+@Service
+public class CollectionVersions {
+    public static final String APPROVED_EVENTS = "events:approved";
+    public static final String ALL_EVENTS = "events:all";
+    public static final String ALL_REGISTRATIONS = "registrations:all";
+
+    private static final String GENERATION = "*";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public record Version(String etag, long lastModified) {
+    }
+
+    public static String event(long eventId) {
+        return "event:" + eventId;
+    }
+
+    public static String eventsOfFaculty(long facultyId) {
+        return "events:faculty:" + facultyId;
+    }
+
+    public static String registrationsOfEvent(long eventId) {
+        return "registrations:event:" + eventId;
+    }
+
+    public static String registrationsOfStudent(long studentId) {
+        return "registrations:student:" + studentId;
+    }
+
+    public static String registrationsOfFaculty(long facultyId) {
+        return "registrations:faculty:" + facultyId;
+    }
+
+    /**
+     * Read-only so that, when replica reads are allowed, the version comes from the replica the
+     * request then reads the body from. Bumps land after the data they describe, so the body is
+     * never older than the ETag it is sent with.
+     */
+    @Transactional(readOnly = true)
+    public Version current(String collection) {
+        long[] version = new long[4];
+        jdbcTemplate.query("SELECT collection, version, last_modified FROM collection_version WHERE collection IN (?, ?)",
+                rs -> {
+                    int slot = GENERATION.equals(rs.getString(1)) ? 0 : 2;
+                    version[slot] = rs.getLong(2);
+                    version[slot + 1] = rs.getTimestamp(3).getTime();
+                }, collection, GENERATION);
+        return new Version("\"" + version[0] + "-" + version[2] + "\"", Math.max(version[1], version[3]));
+    }
+
+    public void eventChanged(long eventId, long... facultyIds) {
+        List<String> collections = new ArrayList<>(List.of(APPROVED_EVENTS, ALL_EVENTS, event(eventId)));
+        for (long facultyId : facultyIds) {
+            collections.add(eventsOfFaculty(facultyId));
+        }
+        bump(collections);
+    }
+
+    public void registrationChanged(long eventId, long studentId, long facultyId) {
+        bump(List.of(ALL_REGISTRATIONS, registrationsOfEvent(eventId), registrationsOfStudent(studentId),
+                registrationsOfFaculty(facultyId)));
+    }
+
+    /**
+     * Invalidates every collection at once, for bulk jobs that touch too many rows to track.
+     */
+    public void invalidateAll() {
+        bump(List.of(GENERATION));
+    }
+
+    /**
+     * Joins the caller's transaction when there is one, otherwise each row commits on its own
+     * right after the write. Rows are bumped in a fixed order so concurrent writers cannot deadlock.
+     */
+    private void bump(List<String> collections) {
+        List<Object[]> rows = new ArrayList<>();
+        for (String collection : new TreeSet<>(collections)) {
+            rows.add(new Object[]{collection});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO collection_version (collection, version, last_modified) " +
+                "VALUES (?, 1, CURRENT_TIMESTAMP(3)) " +
+                "ON DUPLICATE KEY UPDATE version = version + 1, last_modified = CURRENT_TIMESTAMP(3)", rows);
+    }
+}
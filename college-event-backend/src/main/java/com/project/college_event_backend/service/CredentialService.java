@@ -0,0 +1,144 @@
+package com.project.college_event_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Password hashing and verification. BCrypt work runs on a small bounded executor so
+ * a burst of logins can't take every request thread. Recently unknown emails and
+ * email/client pairs with repeated failures are rejected without a database lookup, but
+ * still pay for one dummy hash so response times don't tell them apart from a wrong password.
+ */
+@Service
+public class CredentialService {
+    @Value("${auth.bcrypt.strength:10}")
+    private int strength;
+    @Value("${auth.hash.threads:4}")
+    private int threads;
+    @Value("${auth.hash.queue-capacity:64}")
+    private int queueCapacity;
+    @Value("${auth.hash.timeout-ms:5000}")
+    private long timeoutMs;
+    @Value("${auth.max-failed-attempts:10}")
+    private int maxFailedAttempts;
+
+    private BCryptPasswordEncoder encoder;
+    private ThreadPoolExecutor executor;
+    private String dummyHash;
+
+    private final Cache<String, Boolean> unknownEmails = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofMinutes(5))
+            .build();
+    private final Cache<String, AtomicInteger> failedAttempts = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofMinutes(15))
+            .build();
+
+    @PostConstruct
+    void init() {
+        encoder = new BCryptPasswordEncoder(strength);
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new ThreadPoolExecutor.AbortPolicy());
+        dummyHash = encoder.encode("not-a-real-password");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public String hash(String rawPassword) {
+        return run(() -> encoder.encode(rawPassword));
+    }
+
+    public boolean isHashed(String storedPassword) {
+        return storedPassword != null && storedPassword.startsWith("$2");
+    }
+
+    public boolean isKnownUnknown(String email) {
+        return unknownEmails.getIfPresent(email) != null;
+    }
+
+    public void rememberUnknown(String email) {
+        unknownEmails.put(email, Boolean.TRUE);
+        burnHash();
+    }
+
+    /** Spends the time of one password check without checking anything. */
+    public void burnHash() {
+        run(() -> encoder.matches("", dummyHash));
+    }
+
+    public void forgetUnknown(String email) {
+        unknownEmails.invalidate(email);
+    }
+
+    public boolean isLockedOut(String email, String client) {
+        AtomicInteger failures = failedAttempts.getIfPresent(attemptKey(email, client));
+        return failures != null && failures.get() >= maxFailedAttempts;
+    }
+
+    public boolean matches(String email, String client, String rawPassword, String storedPassword) {
+        boolean matches;
+        if (rawPassword == null || storedPassword == null) {
+            matches = false;
+        } else if (isHashed(storedPassword)) {
+            matches = run(() -> encoder.matches(rawPassword, storedPassword));
+        } else {
+            matches = MessageDigest.isEqual(rawPassword.getBytes(StandardCharsets.UTF_8),
+                    storedPassword.getBytes(StandardCharsets.UTF_8));
+        }
+        String key = attemptKey(email, client);
+        if (matches) {
+            failedAttempts.invalidate(key);
+        } else {
+            failedAttempts.get(key, k -> new AtomicInteger()).incrementAndGet();
+        }
+        return matches;
+    }
+
+    private static String attemptKey(String email, String client) {
+        return email + '|' + client;
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many sign-in requests");
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Sign-in timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Sign-in interrupted");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
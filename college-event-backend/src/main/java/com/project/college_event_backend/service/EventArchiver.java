@@ -0,0 +1,196 @@
+package com.project.college_event_backend.service;
+
+import com.project.college_event_backend.model.Event;
+import com.project.college_event_backend.model.Registration;
+import com.project.college_event_backend.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves events dated before the archive horizon, together with their registrations and info, into
+ * event_archive / registration_archive / event_info_archive in chunks, one transaction per chunk. Archived
+ * events can be listed read-only or rehydrated into the hot tables for audits; a
+ * rehydrated event is held back from archival for a configurable number of days.
+ */
+@Service
+public class EventArchiver {
+    private static final String EVENT_COLUMNS =
+            "id, faculty_id, title, venue, date, description, status, remark, remark_notified, faculty_name, capacity, last_modified, version";
+    private static final String INFO_COLUMNS = "event_id, encoding, content";
+    private static final String REGISTRATION_COLUMNS =
+            "id, event_id, student_id, status, date, student_name, faculty_id, faculty_name, last_modified";
+    private static final String EVENT_READ_COLUMNS =
+            "id, faculty_id, title, venue, date, description, status, remark, remark_notified, faculty_name, capacity, version";
+    private static final String REGISTRATION_READ_COLUMNS =
+            "id, event_id, student_id, status, date, student_name, faculty_id, faculty_name";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EventRepository eventRepo;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MetadataCache metadataCache;
+    @Autowired
+    private SeatAllocator seatAllocator;
+    @Autowired
+    private EventSearchIndex searchIndex;
+    @Autowired
+    private RegistrationCounters counters;
+    @Autowired
+    private CollectionVersions versions;
+
+    @Value("${archive.enabled:true}")
+    private boolean enabled;
+    @Value("${archive.horizon-days:365}")
+    private int horizonDays;
+    @Value("${archive.chunk-size:200}")
+    private int chunkSize;
+    @Value("${archive.rehydrate-hold-days:30}")
+    private int rehydrateHoldDays;
+
+    private record Moved(List<Long> eventIds, List<RegistrationCount> registrations) {
+    }
+
+    private record RegistrationCount(long eventId, long facultyId, LocalDate day, long count) {
+    }
+
+    @Scheduled(cron = "${archive.cron:0 30 3 * * *}")
+    public void archiveExpired() {
+        if (enabled) {
+            archiveBefore(LocalDate.now().minusDays(horizonDays));
+        }
+    }
+
+    public synchronized int archiveBefore(LocalDate horizon) {
+        int archived = 0;
+        while (true) {
+            Moved moved = transactionTemplate.execute(tx -> archiveChunk(horizon));
+            for (long eventId : moved.eventIds()) {
+                metadataCache.evictEvent(eventId);
+                searchIndex.remove(eventId);
+            }
+            for (RegistrationCount count : moved.registrations()) {
+                counters.recordMoved(count.eventId(), count.facultyId(), count.day(), -count.count());
+            }
+            archived += moved.eventIds().size();
+            if (moved.eventIds().size() < chunkSize) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            invalidateReadPaths();
+        }
+        return archived;
+    }
+
+    public List<Event> archivedEvents(LocalDate from, LocalDate to, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("limit", Math.max(1, Math.min(limit, 1000)));
+        StringBuilder sql = new StringBuilder("SELECT " + EVENT_READ_COLUMNS + " FROM event_archive WHERE 1 = 1");
+        if (from != null) {
+            sql.append(" AND date >= :from");
+            params.addValue("from", from);
+        }
+        if (to != null) {
+            sql.append(" AND date <= :to");
+            params.addValue("to", to);
+        }
+        sql.append(" ORDER BY date DESC, id DESC LIMIT :limit");
+        return jdbc.query(sql.toString(), params, new BeanPropertyRowMapper<>(Event.class));
+    }
+
+    public List<Registration> archivedRegistrations(long eventId) {
+        return jdbc.query("SELECT " + REGISTRATION_READ_COLUMNS + " FROM registration_archive WHERE event_id = :id ORDER BY id",
+                new MapSqlParameterSource("id", eventId), new BeanPropertyRowMapper<>(Registration.class));
+    }
+
+    /**
+     * Moves one archived event, its info and its registrations back into the hot tables. Returns null
+     * when the event is not in the archive.
+     */
+    public synchronized Event rehydrate(long eventId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("id", eventId)
+                .addValue("holdUntil", LocalDate.now().plusDays(rehydrateHoldDays));
+        List<RegistrationCount> restored = transactionTemplate.execute(tx -> {
+            int events = jdbc.update("INSERT INTO event (" + EVENT_COLUMNS + ", archive_hold_until) SELECT " + EVENT_COLUMNS +
+                    ", :holdUntil FROM event_archive WHERE id = :id", params);
+            if (events == 0) {
+                return null;
+            }
+            jdbc.update("INSERT INTO registration (" + REGISTRATION_COLUMNS + ") SELECT " + REGISTRATION_COLUMNS +
+                    " FROM registration_archive WHERE event_id = :id", params);
+            jdbc.update("DELETE FROM registration_archive WHERE event_id = :id", params);
+            jdbc.update("INSERT INTO event_info (" + INFO_COLUMNS + ") SELECT " + INFO_COLUMNS +
+                    " FROM event_info_archive WHERE event_id = :id", params);
+            jdbc.update("DELETE FROM event_info_archive WHERE event_id = :id", params);
+            jdbc.update("DELETE FROM event_archive WHERE id = :id", params);
+            return jdbc.query("SELECT event_id, faculty_id, date, COUNT(*) FROM registration WHERE event_id = :id " +
+                    "AND status = 'Registered' GROUP BY event_id, faculty_id, date", params, registrationCount());
+        });
+        if (restored == null) {
+            return null;
+        }
+        seatAllocator.recount(eventId, 0, true);
+        Event event = eventRepo.findByEventId(eventId);
+        metadataCache.putEvent(event);
+        searchIndex.index(event);
+        for (RegistrationCount count : restored) {
+            counters.recordMoved(count.eventId(), count.facultyId(), count.day(), count.count());
+        }
+        invalidateReadPaths();
+        return event;
+    }
+
+    private Moved archiveChunk(LocalDate horizon) {
+        MapSqlParameterSource select = new MapSqlParameterSource("horizon", horizon).addValue("limit", chunkSize);
+        List<Long> ids = jdbc.queryForList("SELECT id FROM event WHERE date < :horizon " +
+                "AND (archive_hold_until IS NULL OR archive_hold_until < CURRENT_DATE) ORDER BY id LIMIT :limit FOR UPDATE",
+                select, Long.class);
+        if (ids.isEmpty()) {
+            return new Moved(ids, new ArrayList<>());
+        }
+        MapSqlParameterSource byIds = new MapSqlParameterSource("ids", ids);
+        List<RegistrationCount> registrations = jdbc.query("SELECT event_id, faculty_id, date, COUNT(*) FROM registration " +
+                "WHERE event_id IN (:ids) AND status = 'Registered' GROUP BY event_id, faculty_id, date", byIds, registrationCount());
+        jdbc.update("INSERT INTO registration_archive (" + REGISTRATION_COLUMNS + ") SELECT " + REGISTRATION_COLUMNS +
+                " FROM registration WHERE event_id IN (:ids)", byIds);
+        jdbc.update("DELETE FROM registration WHERE event_id IN (:ids)", byIds);
+        jdbc.update("INSERT INTO event_info_archive (" + INFO_COLUMNS + ") SELECT " + INFO_COLUMNS +
+                " FROM event_info WHERE event_id IN (:ids)", byIds);
+        jdbc.update("DELETE FROM event_info WHERE event_id IN (:ids)", byIds);
+        jdbc.update("INSERT INTO event_archive (" + EVENT_COLUMNS + ") SELECT " + EVENT_COLUMNS +
+                " FROM event WHERE id IN (:ids)", byIds);
+        jdbc.update("DELETE FROM event WHERE id IN (:ids)", byIds);
+        return new Moved(ids, registrations);
+    }
+
+    private void invalidateReadPaths() {
+        for (String name : List.of(EventsService.APPROVED_EVENTS_CACHE, EventsService.EVENT_BY_ID_CACHE)) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        versions.invalidateAll();
+    }
+
+    private static RowMapper<RegistrationCount> registrationCount() {
+        return (rs, row) -> new RegistrationCount(rs.getLong(1), rs.getLong(2), rs.getObject(3, LocalDate.class), rs.getLong(4));
+    }
+}
@@ -0,0 +1,203 @@
+package com.project.college_event_backend.service;
+
+import com.project.college_event_backend.model.Event;
+import com.project.college_event_backend.model.EventStatusChange;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Pushes proposal status/remark transitions to faculty dashboards over SSE.
+ * Changes are written to event_status_change, whose id is the stream sequence, and every
+ * instance polls that table for its own subscribers, so a change handled by one instance
+ * reaches a dashboard connected to another. A reconnecting client resumes from its last
+ * sequence on any instance, and idle streams get a comment line so proxies do not close them.
+ */
+@Service
+public class EventChangeFeed {
+    public static final String CHANGE_EVENT = "status-change";
+    public static final String RESET_EVENT = "reset";
+
+    private static final String SELECT_CHANGES =
+            "SELECT id, event_id, faculty_id, status, remark, changed_at FROM event_status_change ";
+    private static final int POLL_BATCH = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Most changes replayed to a reconnecting client; further behind, it is told to reset
+    @Value("${events.change-feed.history-size:1024}")
+    private int historySize;
+
+    @Value("${events.change-feed.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${events.change-feed.gap-grace-ms:5000}")
+    private long gapGraceMs;
+
+    @Value("${events.change-feed.retention-hours:24}")
+    private long retentionHours;
+
+    private final Map<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    // Clients that resumed past this instance's last poll; nothing up to here is sent again
+    private final Map<SseEmitter, Long> seenUpTo = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    // Highest sequence handed to this instance's subscribers, -1 until first read
+    private long delivered = -1;
+    private long gapSeenAt;
+
+    public SseEmitter subscribe(long facultyId, Long lastSequence) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        List<SseEmitter> emitters = subscribers.computeIfAbsent(facultyId, id -> new CopyOnWriteArrayList<>());
+        emitter.onCompletion(() -> {
+            emitters.remove(emitter);
+            seenUpTo.remove(emitter);
+        });
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> {
+            emitters.remove(emitter);
+            seenUpTo.remove(emitter);
+        });
+
+        // Replays and registers under the lock, so the next poll sends exactly what comes after
+        synchronized (lock) {
+            long upTo = delivered();
+            if (lastSequence != null) {
+                List<EventStatusChange> missed = missedChanges(facultyId, lastSequence, upTo);
+                if (missed == null) {
+                    send(emitter, emitters, SseEmitter.event().name(RESET_EVENT).data(upTo));
+                } else if (lastSequence > upTo) {
+                    seenUpTo.put(emitter, lastSequence);
+                } else {
+                    for (EventStatusChange change : missed) {
+                        send(emitter, emitters, toSseEvent(change));
+                    }
+                }
+            }
+            emitters.add(emitter);
+        }
+        return emitter;
+    }
+
+    public void publish(Event event) {
+        publish(event.getId(), event.getFacultyId(), event.getStatus(), event.getRemark());
+    }
+
+    public void publish(long eventId, long facultyId, String status, String remark) {
+        jdbcTemplate.update("INSERT INTO event_status_change (event_id, faculty_id, status, remark, changed_at) " +
+                "VALUES (?, ?, ?, ?, ?)", eventId, facultyId, status, remark, Timestamp.from(Instant.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${events.change-feed.poll-ms:500}")
+    public void poll() {
+        List<Runnable> deliveries = new ArrayList<>();
+        synchronized (lock) {
+            List<EventStatusChange> changes = jdbcTemplate.query(SELECT_CHANGES + "WHERE id > ? ORDER BY id LIMIT ?",
+                    EventChangeFeed::toChange, delivered(), POLL_BATCH);
+            for (EventStatusChange change : changes) {
+                if (change.getSequence() != delivered + 1) {
+                    // The missing id may belong to a transaction that has not committed yet;
+                    // wait for it a little, then treat it as rolled back
+                    long now = System.currentTimeMillis();
+                    if (gapSeenAt == 0) {
+                        gapSeenAt = now;
+                    }
+                    if (now - gapSeenAt < gapGraceMs) {
+                        break;
+                    }
+                }
+                gapSeenAt = 0;
+                delivered = change.getSequence();
+                List<SseEmitter> emitters = subscribers.get(change.getFacultyId());
+                if (emitters != null && !emitters.isEmpty()) {
+                    List<SseEmitter> recipients = List.copyOf(emitters);
+                    deliveries.add(() -> {
+                        for (SseEmitter emitter : recipients) {
+                            Long seen = seenUpTo.get(emitter);
+                            if (seen == null || change.getSequence() > seen) {
+                                send(emitter, emitters, toSseEvent(change));
+                            }
+                        }
+                    });
+                }
+            }
+        }
+        deliveries.forEach(Runnable::run);
+    }
+
+    @Scheduled(fixedDelayString = "${events.change-feed.prune-interval-ms:3600000}")
+    public void prune() {
+        jdbcTemplate.update("DELETE FROM event_status_change WHERE changed_at < ?",
+                Timestamp.from(Instant.now().minus(Duration.ofHours(retentionHours))));
+    }
+
+    @Scheduled(fixedDelayString = "${events.change-feed.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (List<SseEmitter> emitters : subscribers.values()) {
+            for (SseEmitter emitter : emitters) {
+                send(emitter, emitters, SseEmitter.event().comment("keep-alive"));
+            }
+        }
+    }
+
+    private long delivered() {
+        if (delivered < 0) {
+            delivered = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM event_status_change", Long.class);
+        }
+        return delivered;
+    }
+
+    /** The faculty's changes after lastSequence, or null when the client has to reset. */
+    private List<EventStatusChange> missedChanges(long facultyId, long lastSequence, long upTo) {
+        if (lastSequence > upTo) {
+            // Seen on an instance that polled more recently; unknown sequences mean a reset
+            Long newest = jdbcTemplate.queryForObject("SELECT MAX(id) FROM event_status_change", Long.class);
+            return newest != null && lastSequence <= newest ? List.of() : null;
+        }
+        Long oldest = jdbcTemplate.queryForObject("SELECT MIN(id) FROM event_status_change", Long.class);
+        long firstKept = oldest != null ? oldest : upTo + 1;
+        if (lastSequence < firstKept - 1) {
+            return null;
+        }
+        List<EventStatusChange> missed = jdbcTemplate.query(
+                SELECT_CHANGES + "WHERE faculty_id = ? AND id > ? AND id <= ? ORDER BY id LIMIT ?",
+                EventChangeFeed::toChange, facultyId, lastSequence, upTo, historySize + 1);
+        return missed.size() > historySize ? null : missed;
+    }
+
+    private static EventStatusChange toChange(ResultSet rs, int row) throws SQLException {
+        return new EventStatusChange(rs.getLong("id"), rs.getLong("event_id"), rs.getLong("faculty_id"),
+                rs.getString("status"), rs.getString("remark"), rs.getTimestamp("changed_at").toInstant());
+    }
+
+    private SseEmitter.SseEventBuilder toSseEvent(EventStatusChange change) {
+        return SseEmitter.event()
+                .id(String.valueOf(change.getSequence()))
+                .name(CHANGE_EVENT)
+                .data(change);
+    }
+
+    private void send(SseEmitter emitter, List<SseEmitter> emitters, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            emitters.remove(emitter);
+            emitter.completeWithError(e);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.project.college_event_backend.service;
+
+import com.project.college_event_backend.model.EventInfo;
+import com.project.college_event_backend.repository.EventInfoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the long-form event info out of the event row so listings never read it.
+ * Texts above the configured size are gzip-compressed at rest when that saves space.
+ */
+@Service
+public class EventInfoStore {
+    static final String PLAIN = "plain";
+    static final String GZIP = "gzip";
+
+    @Autowired
+    private EventInfoRepository repo;
+
+    @Value("${events.info.compress:true}")
+    private boolean compress;
+    @Value("${events.info.compress-min-bytes:512}")
+    private int compressMinBytes;
+
+    public String load(long eventId) {
+        return repo.findById(eventId).map(EventInfoStore::decode).orElse(null);
+    }
+
+    public Map<Long, String> loadAll(Collection<Long> eventIds) {
+        Map<Long, String> infos = new HashMap<>();
+        if (eventIds.isEmpty()) {
+            return infos;
+        }
+        for (EventInfo info : repo.findByEventIdIn(eventIds)) {
+            infos.put(info.getEventId(), decode(info));
+        }
+        return infos;
+    }
+
+    public void store(long eventId, String text) {
+        if (text == null) {
+            return;
+        }
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        if (compress && raw.length >= compressMinBytes) {
+            byte[] packed = gzip(raw);
+            if (packed.length < raw.length) {
+                repo.save(new EventInfo(eventId, GZIP, packed));
+                return;
+            }
+        }
+        repo.save(new EventInfo(eventId, PLAIN, raw));
+    }
+
+    public void delete(long eventId) {
+        repo.deleteById(eventId);
+    }
+
+    private static String decode(EventInfo info) {
+        byte[] content = GZIP.equals(info.getEncoding()) ? gunzip(info.getContent()) : info.getContent();
+        return new String(content, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gzip(byte[] raw) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] packed) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(packed))) {
+            return gzip.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.project.college_event_backend.service;
+
+import com.project.college_event_backend.model.Event;
+import com.project.college_event_backend.repository.EventRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory Lucene index over event title, description, venue and info. Kept up to date
+ * by the EventsService write paths and rebuilt from the database on startup. Status is a
+ * doc value so approve/reject only rewrites that value, not the whole document.
+ */
+@Service
+public class EventSearchIndex {
+    private static final String ID = "id";
+    private static final String DATE = "date";
+    private static final String STATUS = "status";
+    private static final String[] TEXT_FIELDS = {"title", "description", "venue", "info"};
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    @Autowired
+    private EventRepository repo;
+    @Autowired
+    private EventInfoStore infoStore;
+
+    private final Directory directory = new ByteBuffersDirectory();
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public EventSearchIndex() throws IOException {
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            writer.deleteAll();
+            Page<Event> page = repo.findAll(PageRequest.of(0, REBUILD_PAGE_SIZE));
+            while (true) {
+                Map<Long, String> infos = infoStore.loadAll(page.map(Event::getId).getContent());
+                for (Event event : page) {
+                    writer.updateDocument(idTerm(event.getId()), toDocument(event, infos.get(event.getId())));
+                }
+                if (!page.hasNext()) {
+                    break;
+                }
+                page = repo.findAll(page.nextPageable());
+            }
+            writer.commit();
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void index(Event event) {
+        try {
+            String info = event.getInfo() != null ? event.getInfo() : infoStore.load(event.getId());
+            writer.updateDocument(idTerm(event.getId()), toDocument(event, info));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void updateStatus(long eventId, String status) {
+        try {
+            writer.updateNumericDocValue(idTerm(eventId), STATUS, statusCode(status));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void remove(long eventId) {
+        try {
+            writer.deleteDocuments(idTerm(eventId));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public List<Long> search(String text, String status, LocalDate from, LocalDate to, int limit) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        List<String> terms = analyze(text);
+        for (String term : terms) {
+            query.add(termQuery(term), BooleanClause.Occur.MUST);
+        }
+        if (terms.isEmpty()) {
+            query.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+        }
+        if (status != null) {
+            query.add(NumericDocValuesField.newSlowExactQuery(STATUS, statusCode(status)), BooleanClause.Occur.FILTER);
+        }
+        if (from != null || to != null) {
+            long lower = from != null ? from.toEpochDay() : Long.MIN_VALUE;
+            long upper = to != null ? to.toEpochDay() : Long.MAX_VALUE;
+            query.add(LongPoint.newRangeQuery(DATE, lower, upper), BooleanClause.Occur.FILTER);
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                List<Long> ids = new ArrayList<>();
+                for (ScoreDoc hit : searcher.search(query.build(), limit).scoreDocs) {
+                    ids.add(Long.parseLong(searcher.storedFields().document(hit.doc).get(ID)));
+                }
+                return ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private Query termQuery(String term) {
+        BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+        for (String field : TEXT_FIELDS) {
+            anyField.add(new TermQuery(new Term(field, term)), BooleanClause.Occur.SHOULD);
+            anyField.add(new PrefixQuery(new Term(field, term)), BooleanClause.Occur.SHOULD);
+            if (term.length() >= 3) {
+                int maxEdits = term.length() >= 6 ? 2 : 1;
+                anyField.add(new FuzzyQuery(new Term(field, term), maxEdits), BooleanClause.Occur.SHOULD);
+            }
+        }
+        return anyField.build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        try (TokenStream tokens = analyzer.tokenStream("q", text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                terms.add(term.toString());
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private Document toDocument(Event event, String info) {
+        Document doc = new Document();
+        doc.add(new StringField(ID, Long.toString(event.getId()), Field.Store.YES));
+        doc.add(new NumericDocValuesField(STATUS, statusCode(event.getStatus())));
+        if (event.getDate() != null) {
+            doc.add(new LongPoint(DATE, event.getDate().toEpochDay()));
+        }
+        addText(doc, "title", event.getTitle());
+        addText(doc, "description", event.getDescription());
+        addText(doc, "venue", event.getVenue());
+        addText(doc, "info", info);
+        return doc;
+    }
+
+    private static void addText(Document doc, String field, String value) {
+        if (value != null) {
+            doc.add(new TextField(field, value, Field.Store.NO));
+        }
+    }
+
+    private static Term idTerm(long eventId) {
+        return new Term(ID, Long.toString(eventId));
+    }
+
+    private static long statusCode(String status) {
+        if (status == null) {
+            return 0;
+        }
+        return switch (status.toLowerCase()) {
+            case "approved" -> 1;
+            case "rejected" -> 2;
+            case "pending" -> 3;
+            default -> 0;
+        };
+    }
+}
@@ -1,37 +1,132 @@
 package com.project.college_event_backend.service;
 
+import com.project.college_event_backend.model.BulkEventOutcome;
 import com.project.college_event_backend.model.Event;
-import com.project.college_event_backend.model.User;
+import com.project.college_event_backend.model.EventPatch;
+import com.project.college_event_backend.model.EventSummary;
+import com.project.college_event_backend.model.EventSummaryPage;
 import com.project.college_event_backend.repository.EventRepository;
-import com.project.college_event_backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 @Service
 public class EventsService {
+    public static final String APPROVED_EVENTS_CACHE = "approvedEvents";
+    public static final String EVENT_BY_ID_CACHE = "eventById";
+
     @Autowired
     private EventRepository repo;
     @Autowired
-    private UserRepository userRepo;
+    private MetadataCache metadataCache;
+    @Autowired
+    private EventChangeFeed changeFeed;
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private EventSearchIndex searchIndex;
+    @Autowired
+    private CollectionVersions versions;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EventInfoStore infoStore;
+    @Value("${events.page.max-size:100}")
+    private int maxPageSize;
+    @Value("${events.bulk.max-size:1000}")
+    private int maxBulkSize;
 
+    @CacheEvict(cacheNames = APPROVED_EVENTS_CACHE, allEntries = true)
     public Event save(Event event) {
-        User user = userRepo.findById(event.getFacultyId()).orElse(null);
-        if(user != null){
-            event.setFacultyName(user.getName());
+        String facultyName = metadataCache.userName(event.getFacultyId());
+        if(facultyName != null){
+            event.setFacultyName(facultyName);
         }
-        return repo.save(event);
+        Event saved = saveWithInfo(event);
+        metadataCache.putEvent(saved);
+        searchIndex.index(saved);
+        versions.eventChanged(saved.getId(), saved.getFacultyId());
+        return saved;
     }
 
+    // Not readOnly: what this loads is cached for every caller, so it comes from the primary
+    // rather than a replica that may not have the latest write yet
+    @Transactional
+    @Cacheable(APPROVED_EVENTS_CACHE)
     public List<Event> getAllEvents() {
         return repo.findByStatus("Approved");
     }
+
+    public EventSummaryPage getEventSummaries(String status, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        PageRequest page = PageRequest.of(0, pageSize);
+        List<EventSummary> items;
+        if (cursor == null || cursor.isBlank()) {
+            items = status != null ? repo.findSummaryPageByStatus(status, page) : repo.findSummaryPage(page);
+        } else {
+            int separator = cursor.indexOf('_');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed cursor: " + cursor);
+            }
+            LocalDate date = LocalDate.parse(cursor.substring(0, separator));
+            long id = Long.parseLong(cursor.substring(separator + 1));
+            items = status != null
+                    ? repo.findSummaryPageByStatusAfter(status, date, id, page)
+                    : repo.findSummaryPageAfter(date, id, page);
+        }
+        String nextCursor = null;
+        if (items.size() == pageSize) {
+            EventSummary last = items.get(items.size() - 1);
+            nextCursor = last.getDate() + "_" + last.getId();
+        }
+        return new EventSummaryPage(items, nextCursor);
+    }
+
+    public List<EventSummary> search(String text, String status, LocalDate from, LocalDate to, int limit) {
+        List<Long> ids = searchIndex.search(text, status, from, to, Math.max(1, Math.min(limit, maxPageSize)));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, EventSummary> byId = new HashMap<>();
+        for (EventSummary summary : repo.findSummariesByIdIn(ids)) {
+            byId.put(summary.getId(), summary);
+        }
+        List<EventSummary> ranked = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            EventSummary summary = byId.get(id);
+            if (summary != null) {
+                ranked.add(summary);
+            }
+        }
+        return ranked;
+    }
+
     public Event EventProposalFromFaculty(Event req) {
-        User user = userRepo.findById(req.getFacultyId()).orElse(null);
-        if(user != null){
-            req.setFacultyName(user.getName());
+        String facultyName = metadataCache.userName(req.getFacultyId());
+        if(facultyName != null){
+            req.setFacultyName(facultyName);
         }
-        return repo.save(req);
+        Event saved = saveWithInfo(req);
+        metadataCache.putEvent(saved);
+        searchIndex.index(saved);
+        versions.eventChanged(saved.getId(), saved.getFacultyId());
+        return saved;
     }
 
     public List<Event> getAllEventProposals() {
@@ -42,33 +137,124 @@ public class EventsService {
         return repo.findById(id).orElse(null);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = APPROVED_EVENTS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = EVENT_BY_ID_CACHE, key = "#eventProposal.id")
+    })
     public void saveProposal(Event eventProposal) {
-        User user = userRepo.findById(eventProposal.getFacultyId()).orElse(null);
-        if(user != null){
-            eventProposal.setFacultyName(user.getName());
+        String facultyName = metadataCache.userName(eventProposal.getFacultyId());
+        if(facultyName != null){
+            eventProposal.setFacultyName(facultyName);
         }
         repo.save(eventProposal);
+        metadataCache.putEvent(eventProposal);
+        searchIndex.updateStatus(eventProposal.getId(), eventProposal.getStatus());
+        versions.eventChanged(eventProposal.getId(), eventProposal.getFacultyId());
+        changeFeed.publish(eventProposal);
+    }
+
+    /**
+     * Applies one status and/or remark to many events with a single UPDATE ... WHERE id IN,
+     * then reads back the touched rows in the same transaction to report per-id outcomes.
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = APPROVED_EVENTS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = EVENT_BY_ID_CACHE, allEntries = true)
+    })
+    public List<BulkEventOutcome> bulkUpdate(Collection<Long> ids, String status, String remark) {
+        Set<Long> unique = new LinkedHashSet<>(ids);
+        if (unique.isEmpty() || unique.size() > maxBulkSize) {
+            throw new IllegalArgumentException("Expected between 1 and " + maxBulkSize + " event ids");
+        }
+        if (status == null && remark == null) {
+            throw new IllegalArgumentException("Nothing to update");
+        }
+        List<EventSummary> updated = transactionTemplate.execute(tx ->
+                repo.updateStatusAndRemark(unique, status, remark) > 0
+                        ? repo.findSummariesByIdIn(unique)
+                        : List.<EventSummary>of());
+
+        Map<Long, EventSummary> byId = new HashMap<>();
+        for (EventSummary summary : updated) {
+            byId.put(summary.getId(), summary);
+        }
+        List<BulkEventOutcome> outcomes = new ArrayList<>(unique.size());
+        for (Long id : unique) {
+            EventSummary summary = byId.get(id);
+            if (summary == null) {
+                outcomes.add(new BulkEventOutcome(id, false, null, null));
+                continue;
+            }
+            if (status != null) {
+                searchIndex.updateStatus(id, summary.getStatus());
+            }
+            versions.eventChanged(id, summary.getFacultyId());
+            changeFeed.publish(id, summary.getFacultyId(), summary.getStatus(), summary.getRemark());
+            outcomes.add(new BulkEventOutcome(id, true, summary.getStatus(), summary.getRemark()));
+        }
+        return outcomes;
     }
 
+    @Transactional(readOnly = true)
     public List<Event> getAllEventProposalsById(long id) {
         return repo.findAllByFacultyId(id);
     }
 
+    // Not readOnly, for the same reason as getAllEvents
+    @Transactional
+    @Cacheable(cacheNames = EVENT_BY_ID_CACHE, key = "#id", unless = "#result == null")
     public Event getEventById(long id) {
-        return repo.findByEventId(id);
+        Event event = repo.findByEventId(id);
+        if (event != null) {
+            event.setInfo(infoStore.load(id));
+        }
+        return event;
     }
 
+    @Transactional(readOnly = true)
+    public String getEventInfo(long id) {
+        return infoStore.load(id);
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = APPROVED_EVENTS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = EVENT_BY_ID_CACHE, key = "#id")
+    })
     public Event updateEvent(long id, Event updatedEvent){
         Event event = repo.findById(id).orElse(null);
         if (event != null) {
+            if (!Objects.equals(event.getVersion(), updatedEvent.getVersion())) {
+                throw new OptimisticLockingFailureException("Event " + id + " was modified concurrently");
+            }
+            boolean remarkChanged = !Objects.equals(event.getRemark(), updatedEvent.getRemark());
+            boolean statusChanged = remarkChanged || !Objects.equals(event.getStatus(), updatedEvent.getStatus());
+            long previousFacultyId = event.getFacultyId();
             event.setDate(updatedEvent.getDate());
             event.setDescription(updatedEvent.getDescription());
             event.setRemark(updatedEvent.getRemark());
+            if (remarkChanged) {
+                event.setRemarkNotified(false);
+            }
             event.setStatus(updatedEvent.getStatus());
             event.setTitle(updatedEvent.getTitle());
             event.setFacultyId(updatedEvent.getFacultyId());
-            event.setFacultyName(updatedEvent.getFacultyName());
+            String facultyName = metadataCache.userName(updatedEvent.getFacultyId());
+            event.setFacultyName(facultyName != null ? facultyName : updatedEvent.getFacultyName());
+            boolean capacityChanged = updatedEvent.getCapacity() != null
+                    && !updatedEvent.getCapacity().equals(event.getCapacity());
+            if (capacityChanged) {
+                event.setCapacity(updatedEvent.getCapacity());
+            }
             repo.save(event);
+            metadataCache.putEvent(event);
+            searchIndex.index(event);
+            versions.eventChanged(id, previousFacultyId, event.getFacultyId());
+            if (capacityChanged) {
+                studentService.recountSeats(id);
+            }
+            if (statusChanged) {
+                changeFeed.publish(event);
+            }
             return event;
         }else{
             return null;
@@ -76,21 +262,105 @@ public class EventsService {
 
     }
 
+    /**
+     * Applies only the fields the patch names with one UPDATE guarded by the version the
+     * caller read, so the info blob is neither loaded nor rewritten. Returns null when the event
+     * does not exist and throws OptimisticLockingFailureException when the version is stale.
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = APPROVED_EVENTS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = EVENT_BY_ID_CACHE, key = "#id")
+    })
+    public EventSummary patchEvent(long id, EventPatch patch) {
+        EventSummary patched = transactionTemplate.execute(tx -> {
+            int rows = repo.patch(id, patch.getVersion(), patch.getTitle(),
+                    patch.has("venue"), patch.getVenue(), patch.has("description"), patch.getDescription(),
+                    patch.getDate(), patch.getStatus(), patch.has("remark"), patch.getRemark(),
+                    patch.has("capacity"), patch.getCapacity());
+            if (rows == 0) {
+                if (!repo.existsById(id)) {
+                    return null;
+                }
+                throw new OptimisticLockingFailureException("Event " + id + " was modified concurrently");
+            }
+            return repo.findSummariesByIdIn(List.of(id)).get(0);
+        });
+        if (patched == null) {
+            return null;
+        }
+        if (patch.changesText()) {
+            repo.findById(id).ifPresent(searchIndex::index);
+        } else if (patch.getStatus() != null) {
+            searchIndex.updateStatus(id, patched.getStatus());
+        }
+        if (patch.has("capacity")) {
+            metadataCache.evictEvent(id);
+            studentService.recountSeats(id);
+        }
+        versions.eventChanged(id, patched.getFacultyId());
+        if (patch.changesStatus()) {
+            changeFeed.publish(id, patched.getFacultyId(), patched.getStatus(), patched.getRemark());
+        }
+        return patched;
+    }
+
+    /**
+     * Records that the owning faculty has seen the current remark, so the dashboard stops
+     * announcing it. Does not bump the event version: it is not an edit of the event.
+     */
+    @CacheEvict(cacheNames = EVENT_BY_ID_CACHE, key = "#event.id")
+    public void markRemarkNotified(Event event) {
+        repo.markRemarkNotified(event.getId());
+        versions.eventChanged(event.getId(), event.getFacultyId());
+    }
+
 //    public Event updateEvent(Event updateEvent) {
 //        return repo.save(updateEvent);
 //    }
 
+    @CacheEvict(cacheNames = EVENT_BY_ID_CACHE, key = "#id")
     public void deleteEventByIdAndStatus(long id) {
         Event event = repo.findByEventId(id);
         if(event.getStatus().equalsIgnoreCase("Rejected")){
             repo.delete(event);
+            infoStore.delete(id);
+            metadataCache.evictEvent(id);
+            searchIndex.remove(id);
+            versions.eventChanged(id, event.getFacultyId());
         }
     }
 
-    public void deleteEvent(Event event) {
-        repo.delete(event);
+    /**
+     * Deletes the event if it is still at the version the caller read. Returns false when the
+     * event does not exist and throws OptimisticLockingFailureException when the version is stale.
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = APPROVED_EVENTS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = EVENT_BY_ID_CACHE, key = "#id")
+    })
+    public boolean deleteEvent(long id, long version) {
+        MetadataCache.EventMetadata event = metadataCache.event(id);
+        if (repo.deleteByIdAndVersion(id, version) == 0) {
+            if (!repo.existsById(id)) {
+                return false;
+            }
+            throw new OptimisticLockingFailureException("Event " + id + " was modified concurrently");
+        }
+        infoStore.delete(id);
+        metadataCache.evictEvent(id);
+        searchIndex.remove(id);
+        versions.eventChanged(id, event != null ? event.facultyId() : 0);
+        return true;
     }
 
+    private Event saveWithInfo(Event event) {
+        // Always an insert: an id or version in the request body must not turn it into a merge
+        event.setId(0);
+        event.setVersion(null);
+        return transactionTemplate.execute(tx -> {
+            Event saved = repo.save(event);
+            infoStore.store(saved.getId(), event.getInfo());
+            return saved;
+        });
+    }
 }
-
-
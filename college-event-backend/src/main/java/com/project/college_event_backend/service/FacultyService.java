@@ -4,6 +4,7 @@ import com.project.college_event_backend.model.Registration;
 import com.project.college_event_backend.repository.StudentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -17,6 +18,7 @@ public class FacultyService {
         return registrations;
     }
 
+    @Transactional(readOnly = true)
     public List<Registration> findAllByEventId(long eventId) {
         List<Registration> registrations = repo.findByEventId(eventId);
         return registrations;
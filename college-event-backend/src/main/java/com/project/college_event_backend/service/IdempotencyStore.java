@@ -0,0 +1,182 @@
+package com.project.college_event_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.college_event_backend.model.AuthPrincipal;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the response of each POST sent with an Idempotency-Key, so a retried request gets
+ * the first response back without running the handler again. Keys are scoped to the endpoint
+ * and the caller, and a reused key with a different body is refused. Entries live in a bounded,
+ * expiring in-memory cache and can also be written to the idempotency_key table so that every
+ * instance behind the load balancer sees them.
+ */
+@Service
+public class IdempotencyStore {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int IN_FLIGHT = 0;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${idempotency.ttl-minutes:1440}")
+    private long ttlMinutes;
+    @Value("${idempotency.max-entries:100000}")
+    private long maxEntries;
+    @Value("${idempotency.persistence.enabled:false}")
+    private boolean persistent;
+    @Value("${idempotency.in-flight-timeout-ms:60000}")
+    private long inFlightTimeoutMs;
+
+    private Cache<String, Entry> entries;
+
+    private record Entry(String fingerprint, int status, byte[] body) {
+        boolean inFlight() {
+            return status == IN_FLIGHT;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    public ResponseEntity<?> execute(String key, String endpoint, AuthPrincipal caller, Object request,
+                                     Supplier<ResponseEntity<?>> handler) {
+        if (key == null || key.isBlank()) {
+            return handler.get();
+        }
+        if (key.length() > 255) {
+            return ResponseEntity.badRequest().build();
+        }
+        String id = sha256(endpoint + "\n" + (caller != null ? caller.id() : "anonymous") + "\n" + key);
+        String fingerprint = sha256(json(request));
+
+        Entry claim = new Entry(fingerprint, IN_FLIGHT, null);
+        Entry existing = entries.asMap().putIfAbsent(id, claim);
+        if (existing == null && persistent) {
+            existing = claimPersistent(id, claim);
+            if (existing != null) {
+                if (existing.inFlight()) {
+                    entries.invalidate(id);
+                } else {
+                    entries.put(id, existing);
+                }
+            }
+        }
+        if (existing != null) {
+            return replay(existing, fingerprint);
+        }
+
+        ResponseEntity<?> response;
+        try {
+            response = handler.get();
+        } catch (RuntimeException e) {
+            release(id);
+            throw e;
+        }
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            release(id);
+            return response;
+        }
+        Entry completed = new Entry(fingerprint, response.getStatusCode().value(), json(response.getBody()));
+        entries.put(id, completed);
+        if (persistent) {
+            jdbcTemplate.update("UPDATE idempotency_key SET status = ?, body = ? WHERE key_hash = ?",
+                    completed.status(), completed.body(), id);
+        }
+        return response;
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:3600000}")
+    public void purgeExpired() {
+        if (persistent) {
+            jdbcTemplate.update("DELETE FROM idempotency_key WHERE created_at < ?",
+                    Timestamp.from(Instant.now().minus(Duration.ofMinutes(ttlMinutes))));
+        }
+    }
+
+    private Entry claimPersistent(String id, Entry claim) {
+        jdbcTemplate.update("DELETE FROM idempotency_key WHERE key_hash = ? AND status = ? AND created_at < ?",
+                id, IN_FLIGHT, Timestamp.from(Instant.now().minusMillis(inFlightTimeoutMs)));
+        int inserted = jdbcTemplate.update("INSERT IGNORE INTO idempotency_key (key_hash, fingerprint, status, created_at) " +
+                "VALUES (?, ?, ?, ?)", id, claim.fingerprint(), IN_FLIGHT, Timestamp.from(Instant.now()));
+        if (inserted > 0) {
+            return null;
+        }
+        List<Entry> stored = jdbcTemplate.query("SELECT fingerprint, status, body FROM idempotency_key WHERE key_hash = ?",
+                (rs, row) -> new Entry(rs.getString(1), rs.getInt(2), rs.getBytes(3)), id);
+        return stored.isEmpty() ? claim : stored.get(0);
+    }
+
+    private void release(String id) {
+        entries.invalidate(id);
+        if (persistent) {
+            jdbcTemplate.update("DELETE FROM idempotency_key WHERE key_hash = ? AND status = ?", id, IN_FLIGHT);
+        }
+    }
+
+    private static ResponseEntity<?> replay(Entry entry, String fingerprint) {
+        if (!entry.fingerprint().equals(fingerprint)) {
+            return ResponseEntity.unprocessableEntity().build();
+        }
+        if (entry.inFlight()) {
+            return ResponseEntity.status(409).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(entry.status()).header(REPLAYED_HEADER, "true");
+        if (entry.body() == null || entry.body().length == 0) {
+            return builder.build();
+        }
+        return builder.contentType(MediaType.APPLICATION_JSON).body(entry.body());
+    }
+
+    private byte[] json(Object value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String sha256(String value) {
+        return sha256(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(byte[] value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.project.college_event_backend.service;
+
+import com.project.college_event_backend.model.Event;
+import com.project.college_event_backend.model.User;
+import com.project.college_event_backend.repository.EventRepository;
+import com.project.college_event_backend.repository.UserRepository;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bounded, long-keyed cache of the user names and event ownership data that
+ * registration and proposal writes denormalize, so those writes don't re-read
+ * the user and event rows every time.
+ */
+@Service
+public class MetadataCache {
+    @Autowired
+    private UserRepository userRepo;
+    @Autowired
+    private EventRepository eventRepo;
+
+    @Value("${metadata-cache.max-users:100000}")
+    private int maxUsers;
+    @Value("${metadata-cache.max-events:20000}")
+    private int maxEvents;
+
+    private final Long2ObjectOpenHashMap<String> userNames = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectOpenHashMap<EventMetadata> events = new Long2ObjectOpenHashMap<>();
+    private final ReadWriteLock userLock = new ReentrantReadWriteLock();
+    private final ReadWriteLock eventLock = new ReentrantReadWriteLock();
+
+    public record EventMetadata(long eventId, long facultyId, String facultyName, Integer capacity) {
+    }
+
+    public String userName(long userId) {
+        userLock.readLock().lock();
+        try {
+            String name = userNames.get(userId);
+            if (name != null) {
+                return name;
+            }
+        } finally {
+            userLock.readLock().unlock();
+        }
+        User user = userRepo.findById(userId).orElse(null);
+        if (user == null) {
+            return null;
+        }
+        putUser(user);
+        return user.getName();
+    }
+
+    public EventMetadata event(long eventId) {
+        eventLock.readLock().lock();
+        try {
+            EventMetadata metadata = events.get(eventId);
+            if (metadata != null) {
+                return metadata;
+            }
+        } finally {
+            eventLock.readLock().unlock();
+        }
+        Event event = eventRepo.findByEventId(eventId);
+        if (event == null) {
+            return null;
+        }
+        return putEvent(event);
+    }
+
+    public void putUser(User user) {
+        if (user.getName() == null) {
+            return;
+        }
+        userLock.writeLock().lock();
+        try {
+            if (userNames.size() >= maxUsers && !userNames.containsKey(user.getId())) {
+                userNames.clear();
+            }
+            userNames.put(user.getId(), user.getName());
+        } finally {
+            userLock.writeLock().unlock();
+        }
+    }
+
+    public EventMetadata putEvent(Event event) {
+        EventMetadata metadata = new EventMetadata(event.getId(), event.getFacultyId(),
+                event.getFacultyName(), event.getCapacity());
+        eventLock.writeLock().lock();
+        try {
+            if (events.size() >= maxEvents && !events.containsKey(event.getId())) {
+                events.clear();
+            }
+            events.put(event.getId(), metadata);
+        } finally {
+            eventLock.writeLock().unlock();
+        }
+        return metadata;
+    }
+
+    public void evictEvent(long eventId) {
+        eventLock.writeLock().lock();
+        try {
+            events.remove(eventId);
+        } finally {
+            eventLock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.project.college_event_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process token buckets, one per policy and client. Each bucket is a single AtomicLong
+ * holding the time at which it will be full again (the GCRA form of a token bucket), so a
+ * check is one CAS with no lock. Idle buckets expire once they would have refilled anyway.
+ */
+@Service
+public class RateLimiter {
+    @Autowired
+    private Environment env;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+    @Value("${rate-limit.max-tracked-clients:100000}")
+    private long maxTrackedClients;
+
+    private final Map<String, Policy> policies = new ConcurrentHashMap<>();
+
+    private final class Policy {
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final Cache<String, AtomicLong> buckets;
+        private final Counter allowed;
+        private final Counter rejected;
+
+        private Policy(String name) {
+            int capacity = env.getProperty("rate-limit.policies." + name + ".capacity", Integer.class, 20);
+            double perMinute = env.getProperty("rate-limit.policies." + name + ".refill-per-minute", Double.class, 60.0);
+            intervalNanos = (long) (TimeUnit.MINUTES.toNanos(1) / perMinute);
+            burstNanos = intervalNanos * capacity;
+            buckets = Caffeine.newBuilder()
+                    .maximumSize(maxTrackedClients)
+                    .expireAfterAccess(Duration.ofNanos(burstNanos))
+                    .build();
+            allowed = meterRegistry.counter("rate.limiter.requests", "policy", name, "outcome", "allowed");
+            rejected = meterRegistry.counter("rate.limiter.requests", "policy", name, "outcome", "rejected");
+            Gauge.builder("rate.limiter.clients", buckets, Cache::estimatedSize)
+                    .tag("policy", name)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Takes one token for the client. Returns 0 when allowed, otherwise the nanoseconds
+     * until a token will be available.
+     */
+    public long tryAcquire(String policyName, String client) {
+        if (!enabled) {
+            return 0;
+        }
+        Policy policy = policies.computeIfAbsent(policyName, Policy::new);
+        long now = System.nanoTime();
+        AtomicLong fullAt = policy.buckets.get(client, key -> new AtomicLong(now));
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + policy.intervalNanos;
+            long wait = next - now - policy.burstNanos;
+            if (wait > 0) {
+                policy.rejected.increment();
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                policy.allowed.increment();
+                return 0;
+            }
+        }
+    }
+}
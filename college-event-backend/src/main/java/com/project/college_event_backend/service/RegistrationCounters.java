@@ -0,0 +1,139 @@
+package com.project.college_event_backend.service;
+
+import com.project.college_event_backend.model.Registration;
+import com.project.college_event_backend.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registered-seat counts per event, per faculty and per day, served from registration_stat.
+ * Each instance collects its changes as per-key deltas and periodically adds them to the
+ * table, so every instance contributes to, and reads, the same totals. Reads lag by up to
+ * registration-counters.flush-interval-ms. Waitlisted registrations are not counted.
+ */
+@Service
+public class RegistrationCounters {
+    private static final String EVENT = "event";
+    private static final String FACULTY = "faculty";
+    private static final String DAY = "day";
+
+    @Autowired
+    private StudentRepository repo;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final Map<String, AtomicLong> deltas = new ConcurrentHashMap<>();
+
+    /**
+     * Replaces the table with counts from the registration table. Deltas still unflushed on
+     * other instances are added on top, so run it while registrations are quiet.
+     */
+    @Transactional
+    public synchronized void rebuild() {
+        deltas.clear();
+        jdbcTemplate.update("DELETE FROM registration_stat");
+        List<Object[]> rows = new ArrayList<>();
+        for (Object[] row : repo.countByEvent()) {
+            rows.add(new Object[]{EVENT, row[0].toString(), row[1]});
+        }
+        for (Object[] row : repo.countByFaculty()) {
+            rows.add(new Object[]{FACULTY, row[0].toString(), row[1]});
+        }
+        for (Object[] row : repo.countByDate()) {
+            rows.add(new Object[]{DAY, row[0].toString(), row[1]});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO registration_stat (scope, stat_key, count) VALUES (?, ?, ?)", rows);
+    }
+
+    public void recordAdded(Registration registration) {
+        if (StudentService.REGISTERED.equals(registration.getStatus())) {
+            record(registration.getEventId(), registration.getFacultyId(), registration.getDate(), 1);
+        }
+    }
+
+    public void recordRemoved(Registration registration) {
+        if (StudentService.REGISTERED.equals(registration.getStatus())) {
+            record(registration.getEventId(), registration.getFacultyId(), registration.getDate(), -1);
+        }
+    }
+
+    public void recordMoved(long eventId, long facultyId, LocalDate day, long delta) {
+        record(eventId, facultyId, day, delta);
+    }
+
+    public long forEvent(long eventId) {
+        return stored(EVENT, Long.toString(eventId));
+    }
+
+    public long forFaculty(long facultyId) {
+        return stored(FACULTY, Long.toString(facultyId));
+    }
+
+    public Map<LocalDate, Long> perDay(LocalDate from, LocalDate to) {
+        // ISO dates sort as strings
+        Map<LocalDate, Long> counts = new TreeMap<>();
+        jdbcTemplate.query("SELECT stat_key, count FROM registration_stat WHERE scope = ? AND stat_key BETWEEN ? AND ?",
+                rs -> {
+                    counts.put(LocalDate.parse(rs.getString(1)), rs.getLong(2));
+                }, DAY, from != null ? from.toString() : "0000-01-01", to != null ? to.toString() : "9999-12-31");
+        return counts;
+    }
+
+    @Scheduled(fixedDelayString = "${registration-counters.flush-interval-ms:60000}")
+    public void flush() {
+        List<Object[]> rows = new ArrayList<>();
+        for (Map.Entry<String, AtomicLong> entry : deltas.entrySet()) {
+            long delta = entry.getValue().getAndSet(0);
+            if (delta != 0) {
+                int separator = entry.getKey().indexOf(':');
+                rows.add(new Object[]{entry.getKey().substring(0, separator), entry.getKey().substring(separator + 1), delta});
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(tx -> jdbcTemplate.batchUpdate(
+                    "INSERT INTO registration_stat (scope, stat_key, count) VALUES (?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE count = count + VALUES(count)", rows));
+        } catch (RuntimeException e) {
+            // Nothing was applied; keep the deltas for the next flush
+            for (Object[] row : rows) {
+                add(row[0] + ":" + row[1], (Long) row[2]);
+            }
+            throw e;
+        }
+    }
+
+    private void record(long eventId, long facultyId, LocalDate day, long delta) {
+        add(EVENT + ":" + eventId, delta);
+        add(FACULTY + ":" + facultyId, delta);
+        if (day != null) {
+            add(DAY + ":" + day, delta);
+        }
+    }
+
+    private void add(String stat, long delta) {
+        deltas.computeIfAbsent(stat, key -> new AtomicLong()).addAndGet(delta);
+    }
+
+    private long stored(String scope, String key) {
+        List<Long> counts = jdbcTemplate.queryForList("SELECT count FROM registration_stat WHERE scope = ? AND stat_key = ?",
+                Long.class, scope, key);
+        return counts.isEmpty() ? 0 : counts.get(0);
+    }
+}
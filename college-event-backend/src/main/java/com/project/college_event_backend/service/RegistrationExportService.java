@@ -0,0 +1,122 @@
+package com.project.college_event_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.college_event_backend.model.Registration;
+import com.project.college_event_backend.repository.StudentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes registrations straight from a streaming result set to the response, detaching
+ * each row once written, so export memory does not grow with the number of rows.
+ */
+@Service
+public class RegistrationExportService {
+    public static final String CSV = "csv";
+    public static final String NDJSON = "ndjson";
+
+    private static final String CSV_HEADER = "id,eventId,studentId,studentName,status,date,facultyId,facultyName\n";
+
+    @Autowired
+    private StudentRepository repo;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private TransactionTemplate readOnly;
+
+    @PostConstruct
+    void init() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    public static boolean isSupported(String format) {
+        return CSV.equals(format) || NDJSON.equals(format);
+    }
+
+    public void exportByEvent(long eventId, String format, OutputStream out) {
+        export(() -> repo.streamByEventId(eventId), format, out);
+    }
+
+    public void exportByFaculty(long facultyId, String format, OutputStream out) {
+        export(() -> repo.streamByFacultyId(facultyId), format, out);
+    }
+
+    private void export(Supplier<Stream<Registration>> query, String format, OutputStream out) {
+        readOnly.executeWithoutResult(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            try (Stream<Registration> rows = query.get()) {
+                if (CSV.equals(format)) {
+                    writer.write(CSV_HEADER);
+                }
+                Iterator<Registration> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    Registration row = iterator.next();
+                    if (CSV.equals(format)) {
+                        writeCsv(writer, row);
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(row));
+                        writer.write('\n');
+                    }
+                    entityManager.detach(row);
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeCsv(Writer writer, Registration row) throws IOException {
+        writer.write(Long.toString(row.getId()));
+        writer.write(',');
+        writer.write(Long.toString(row.getEventId()));
+        writer.write(',');
+        writer.write(Long.toString(row.getStudentId()));
+        writer.write(',');
+        writer.write(csv(row.getStudentName()));
+        writer.write(',');
+        writer.write(csv(row.getStatus()));
+        writer.write(',');
+        writer.write(row.getDate() != null ? row.getDate().toString() : "");
+        writer.write(',');
+        writer.write(Long.toString(row.getFacultyId()));
+        writer.write(',');
+        writer.write(csv(row.getFacultyName()));
+        writer.write('\n');
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        // Names come from public sign-up; keep spreadsheets from treating a cell as a formula
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,183 @@
+package com.project.college_event_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.college_event_backend.model.Registration;
+import com.project.college_event_backend.repository.StudentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Optional write-behind mode for registrations: requests are queued and
+ * acknowledged immediately, and a scheduled flusher inserts them in JDBC batches.
+ * A batch that fails is written row by row; a row that fails for any reason other than a
+ * duplicate goes back on the queue for the next flush, up to max-attempts, after which its
+ * seat is released and the failure is kept for its ticket.
+ */
+@Service
+public class RegistrationWriteBehind {
+    private static final Logger log = LoggerFactory.getLogger(RegistrationWriteBehind.class);
+
+    @Autowired
+    private StudentRepository repo;
+    @Autowired
+    private SeatAllocator seatAllocator;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private RegistrationCounters counters;
+    @Autowired
+    private CollectionVersions versions;
+
+    @Value("${registration.write-behind.enabled:false}")
+    private boolean enabled;
+    @Value("${registration.write-behind.queue-capacity:10000}")
+    private int queueCapacity;
+    @Value("${registration.write-behind.batch-size:200}")
+    private int batchSize;
+    @Value("${registration.write-behind.max-attempts:5}")
+    private int maxAttempts;
+    @Value("${registration.write-behind.failure-retention-ms:3600000}")
+    private long failureRetentionMs;
+
+    private BlockingQueue<Pending> queue;
+    // Kept on this instance only: when the database is what failed, there is nowhere else to put it
+    private Cache<String, Boolean> failures;
+
+    private record Pending(Registration registration, boolean seatHeld, int attempts) {
+    }
+
+    @PostConstruct
+    void init() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        failures = Caffeine.newBuilder()
+                .maximumSize(queueCapacity)
+                .expireAfterWrite(Duration.ofMillis(failureRetentionMs))
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean offer(Registration registration, boolean seatHeld) {
+        return queue.offer(new Pending(registration, seatHeld, 0));
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    /** The student's registration for the event while it waits here, or null. */
+    public Registration queued(long studentId, long eventId) {
+        for (Pending pending : queue) {
+            Registration registration = pending.registration();
+            if (registration.getStudentId() == studentId && registration.getEventId() == eventId) {
+                return registration;
+            }
+        }
+        return null;
+    }
+
+    /** True when the student's queued registration for the event could not be written. */
+    public boolean failed(long studentId, long eventId) {
+        return failures.getIfPresent(studentId + "-" + eventId) != null;
+    }
+
+    /** Queued registrations for the event that will be written as Registered. */
+    public int pendingRegistered(long eventId) {
+        int registered = 0;
+        for (Pending pending : queue) {
+            Registration registration = pending.registration();
+            if (registration.getEventId() == eventId && StudentService.REGISTERED.equals(registration.getStatus())) {
+                registered++;
+            }
+        }
+        return registered;
+    }
+
+    @Scheduled(fixedDelayString = "${registration.write-behind.flush-interval-ms:200}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        // Only what was queued before this flush; retries wait for the next one
+        int remaining = queue.size();
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (remaining > 0 && queue.drainTo(batch, Math.min(batchSize, remaining)) > 0) {
+            remaining -= batch.size();
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    void drain() {
+        for (int i = 0; i < maxAttempts && !queue.isEmpty(); i++) {
+            flush();
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        List<Registration> registrations = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            registrations.add(pending.registration());
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> repo.saveAll(registrations));
+            registrations.forEach(this::written);
+        } catch (DataAccessException | TransactionException e) {
+            for (Pending pending : batch) {
+                writeOne(pending);
+            }
+        }
+    }
+
+    private void writeOne(Pending pending) {
+        Registration registration = pending.registration();
+        registration.setId(0);
+        try {
+            repo.save(registration);
+            written(registration);
+        } catch (DataIntegrityViolationException duplicate) {
+            releaseSeat(pending);
+        } catch (DataAccessException | TransactionException e) {
+            Pending retry = new Pending(registration, pending.seatHeld(), pending.attempts() + 1);
+            if (retry.attempts() < maxAttempts && queue.offer(retry)) {
+                return;
+            }
+            log.warn("Giving up on the registration of student {} for event {} after {} attempts",
+                    registration.getStudentId(), registration.getEventId(), retry.attempts(), e);
+            releaseSeat(pending);
+            failures.put(registration.getStudentId() + "-" + registration.getEventId(), Boolean.TRUE);
+        }
+    }
+
+    private void releaseSeat(Pending pending) {
+        if (pending.seatHeld()) {
+            seatAllocator.release(pending.registration().getEventId());
+        }
+    }
+
+    private void written(Registration registration) {
+        counters.recordAdded(registration);
+        versions.registrationChanged(registration.getEventId(), registration.getStudentId(),
+                registration.getFacultyId());
+    }
+}
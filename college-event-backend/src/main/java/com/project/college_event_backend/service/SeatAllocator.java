@@ -0,0 +1,48 @@
+package com.project.college_event_backend.service;
+
+import com.project.college_event_backend.repository.EventRepository;
+import com.project.college_event_backend.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Hands out seats for capacity-limited events with a conditional UPDATE of event.seats_taken,
+ * so every instance, and registrations still waiting in the write-behind queue, are decided
+ * against the same count and an event can never be overbooked.
+ */
+@Service
+public class SeatAllocator {
+    @Autowired
+    private EventRepository eventRepo;
+    @Autowired
+    private StudentRepository registrationRepo;
+
+    public boolean tryAcquire(long eventId) {
+        return eventRepo.takeSeat(eventId) > 0;
+    }
+
+    public void release(long eventId) {
+        eventRepo.releaseSeat(eventId);
+    }
+
+    /**
+     * Sets the count to the Registered rows plus {@code queued} registrations not yet written.
+     * Seats are only counted while an event has a capacity, so this runs when one is set and
+     * after a rehydrate. The event row is locked first, so registrations that took a seat but
+     * have not committed yet are waited for and counted. With {@code exact} false the count is
+     * only ever raised, for when other instances may hold queued registrations this one cannot see.
+     */
+    @Transactional
+    public void recount(long eventId, int queued, boolean exact) {
+        if (eventRepo.lockSeats(eventId) == null) {
+            return;
+        }
+        long taken = registrationRepo.countRegistered(eventId) + queued;
+        if (exact) {
+            eventRepo.setSeatsTaken(eventId, taken);
+        } else {
+            eventRepo.raiseSeatsTaken(eventId, taken);
+        }
+    }
+}
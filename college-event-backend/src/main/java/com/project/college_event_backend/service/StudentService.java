@@ -1,42 +1,74 @@
 package com.project.college_event_backend.service;
 
-import com.project.college_event_backend.model.Event;
 import com.project.college_event_backend.model.Registration;
-import com.project.college_event_backend.model.User;
-import com.project.college_event_backend.repository.EventRepository;
+import com.project.college_event_backend.model.RegistrationTicket;
 import com.project.college_event_backend.repository.StudentRepository;
-import com.project.college_event_backend.repository.UserRepository;
+import com.project.college_event_backend.service.MetadataCache.EventMetadata;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Service
 public class StudentService {
+    public static final String REGISTERED = "Registered";
+    public static final String WAITLISTED = "Waitlisted";
+    public static final String PENDING = "Pending";
+    public static final String FAILED = "Failed";
+
     @Autowired
     private StudentRepository repo;
 
     @Autowired
-    private UserRepository userRepo;
+    private MetadataCache metadataCache;
+
+    @Autowired
+    private SeatAllocator seatAllocator;
+
+    @Autowired
+    private RegistrationWriteBehind writeBehind;
+
+    @Autowired
+    private RegistrationCounters counters;
+
+    @Autowired
+    private CollectionVersions versions;
 
     @Autowired
-    private EventRepository eventRepository;
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${students.check-registrations.max-ids:500}")
+    private int maxCheckIds;
+
+    @Value("${registration.write-behind.ticket-ttl-ms:60000}")
+    private long ticketTtlMs;
 
     public List<Registration> getRegisteredStudents() {
         return repo.findAll();
     }
 
     public Registration registerStudent(Registration req) {
-        User user = userRepo.findById(req.getStudentId()).orElse(null);
-        Event event = eventRepository.findByEventId(req.getEventId());
-        if(user != null){
-            req.setStudentName(user.getName());
-            req.setFacultyId(event.getFacultyId());
-            req.setStatus("Registered");
-            req.setDate(LocalDate.now());
-            req.setFacultyName(user.getName());
-            return repo.save(req);
+        EventMetadata event = prepareRegistration(req);
+        if(event != null){
+            Registration saved;
+            try {
+                // The seat and the row commit together: any failed insert hands the seat back
+                saved = transactionTemplate.execute(tx -> {
+                    req.setStatus(acquireSeat(event) ? REGISTERED : WAITLISTED);
+                    return repo.saveAndFlush(req);
+                });
+            } catch (DataIntegrityViolationException e) {
+                return repo.findByStudentIdAndEventId(req.getStudentId(), req.getEventId());
+            }
+            counters.recordAdded(saved);
+            versions.registrationChanged(saved.getEventId(), saved.getStudentId(), saved.getFacultyId());
+            return saved;
         }
         else{
             return null;
@@ -44,6 +76,90 @@ public class StudentService {
 
     }
 
+    public boolean isWriteBehindEnabled() {
+        return writeBehind.isEnabled();
+    }
+
+    public RegistrationTicket enqueueRegistration(Registration req) {
+        EventMetadata event = prepareRegistration(req);
+        if (event == null) {
+            return null;
+        }
+        boolean seated = acquireSeat(event);
+        boolean seatHeld = seated && event.capacity() != null;
+        req.setStatus(seated ? REGISTERED : WAITLISTED);
+        boolean queued = writeBehind.offer(req, seatHeld);
+        if (!queued && seatHeld) {
+            seatAllocator.release(event.eventId());
+        }
+        String ticket = req.getStudentId() + "-" + req.getEventId() + "-" + System.currentTimeMillis();
+        return new RegistrationTicket(ticket, req.getEventId(), req.getStudentId(), req.getStatus(), queued);
+    }
+
+    /**
+     * Resolves a ticket from {@link #enqueueRegistration}. A student has at most one registration
+     * per event, so the stored row is the outcome; until it is written the ticket reads as queued
+     * for registration.write-behind.ticket-ttl-ms (another instance may hold it), and as unknown
+     * (null) after that. A registration this instance gave up writing reads as Failed.
+     */
+    public RegistrationTicket ticketStatus(String ticket) {
+        String[] parts = ticket.split("-");
+        if (parts.length != 3) {
+            return null;
+        }
+        long studentId, eventId, issuedAt;
+        try {
+            studentId = Long.parseLong(parts[0]);
+            eventId = Long.parseLong(parts[1]);
+            issuedAt = Long.parseLong(parts[2]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        Registration stored = repo.findByStudentIdAndEventId(studentId, eventId);
+        if (stored != null) {
+            return new RegistrationTicket(ticket, eventId, studentId, stored.getStatus(), false);
+        }
+        Registration queued = writeBehind.queued(studentId, eventId);
+        if (queued != null) {
+            return new RegistrationTicket(ticket, eventId, studentId, queued.getStatus(), true);
+        }
+        if (writeBehind.failed(studentId, eventId)) {
+            return new RegistrationTicket(ticket, eventId, studentId, FAILED, false);
+        }
+        if (System.currentTimeMillis() - issuedAt < ticketTtlMs) {
+            return new RegistrationTicket(ticket, eventId, studentId, PENDING, true);
+        }
+        return null;
+    }
+
+    private EventMetadata prepareRegistration(Registration req) {
+        String studentName = metadataCache.userName(req.getStudentId());
+        EventMetadata event = metadataCache.event(req.getEventId());
+        if (studentName == null || event == null) {
+            return null;
+        }
+        req.setStudentName(studentName);
+        req.setFacultyId(event.facultyId());
+        req.setDate(LocalDate.now());
+        req.setFacultyName(event.facultyName());
+        return event;
+    }
+
+    private boolean acquireSeat(EventMetadata event) {
+        if (event.capacity() == null) {
+            return true;
+        }
+        return seatAllocator.tryAcquire(event.eventId());
+    }
+
+    /**
+     * Re-counts the seats of an event whose capacity was just set, including queued registrations.
+     * Write-behind queues of other instances are invisible here, so in that mode it only raises.
+     */
+    public void recountSeats(long eventId) {
+        seatAllocator.recount(eventId, writeBehind.pendingRegistered(eventId), !writeBehind.isEnabled());
+    }
+
     public List<Registration> getStudentsByFacultyId(long facultyId) {
         List<Registration> students = repo.findByFacultyId(facultyId);
         if(students != null){
@@ -53,10 +169,26 @@ public class StudentService {
         }
     }
 
+    @Transactional(readOnly = true)
     public Registration findByStudentIdAndEventId(long studentId, long eventId) {
         return repo.findByStudentIdAndEventId(studentId,eventId);
     }
 
+    public List<Long> registeredEventIds(long studentId) {
+        return repo.findEventIdsByStudentId(studentId);
+    }
+
+    public List<Long> registeredEventIds(long studentId, Collection<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return List.of();
+        }
+        if (eventIds.size() > maxCheckIds) {
+            throw new IllegalArgumentException("Expected at most " + maxCheckIds + " event ids");
+        }
+        return repo.findEventIdsByStudentIdAndEventIdIn(studentId, eventIds);
+    }
+
+    @Transactional(readOnly = true)
     public List<Registration> allRegisteredEventsByStudent(long studentId) {
         return repo.findByStudentId(studentId);
     }
@@ -66,5 +198,26 @@ public class StudentService {
 
     public void deleteRegistration(Registration student) {
         repo.delete(student);
+        counters.recordRemoved(student);
+        versions.registrationChanged(student.getEventId(), student.getStudentId(), student.getFacultyId());
+        if (REGISTERED.equals(student.getStatus())) {
+            EventMetadata event = metadataCache.event(student.getEventId());
+            if (event != null && event.capacity() != null) {
+                handOverSeat(student.getEventId());
+            }
+        }
+    }
+
+    private void handOverSeat(long eventId) {
+        for (long waitlistedId : repo.findWaitlistedIds(eventId)) {
+            if (repo.promoteFromWaitlist(waitlistedId) > 0) {
+                repo.findById(waitlistedId).ifPresent(promoted -> {
+                    counters.recordAdded(promoted);
+                    versions.registrationChanged(promoted.getEventId(), promoted.getStudentId(), promoted.getFacultyId());
+                });
+                return;
+            }
+        }
+        seatAllocator.release(eventId);
     }
 }
@@ -0,0 +1,148 @@
+package com.project.college_event_backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.college_event_backend.model.AuthPrincipal;
+import com.project.college_event_backend.model.User;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Issues and verifies HS256-signed bearer tokens (JWT compact form) carrying the user's id,
+ * role and name, so any instance can resolve the caller without a session or a user query.
+ * Keys are configured as {@code kid=base64secret} pairs; tokens are signed with the active key
+ * and verified with whichever configured key their header names, which allows rotation.
+ */
+@Service
+public class TokenService {
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${auth.token.keys:}")
+    private String configuredKeys;
+    @Value("${auth.token.active-key-id:}")
+    private String activeKeyId;
+    @Value("${auth.token.ttl-minutes:480}")
+    private long ttlMinutes;
+
+    private final Map<String, Mac> keys = new HashMap<>();
+
+    public record IssuedToken(String token, Instant expiresAt) {
+    }
+
+    @PostConstruct
+    void loadKeys() throws GeneralSecurityException {
+        for (String entry : configuredKeys.split(",")) {
+            int separator = entry.indexOf('=');
+            if (separator > 0) {
+                keys.put(entry.substring(0, separator).trim(),
+                        newMac(Base64.getDecoder().decode(entry.substring(separator + 1).trim())));
+            }
+        }
+        if (keys.isEmpty()) {
+            log.warn("auth.token.keys is not set; signing with a random key, tokens will not be accepted by other instances");
+            byte[] secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+            activeKeyId = "local";
+            keys.put(activeKeyId, newMac(secret));
+        } else if (activeKeyId.isBlank()) {
+            activeKeyId = keys.keySet().iterator().next();
+        }
+        if (!keys.containsKey(activeKeyId)) {
+            throw new IllegalStateException("auth.token.active-key-id " + activeKeyId + " is not among auth.token.keys");
+        }
+    }
+
+    public IssuedToken issue(User user) {
+        Instant expiresAt = Instant.now().plus(ttlMinutes, ChronoUnit.MINUTES).truncatedTo(ChronoUnit.SECONDS);
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("alg", "HS256");
+        header.put("typ", "JWT");
+        header.put("kid", activeKeyId);
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", Long.toString(user.getId()));
+        claims.put("role", user.getRole());
+        claims.put("name", user.getName());
+        claims.put("exp", expiresAt.getEpochSecond());
+        String signingInput = encode(header) + "." + encode(claims);
+        byte[] signature = sign(activeKeyId, signingInput);
+        return new IssuedToken(signingInput + "." + ENCODER.encodeToString(signature), expiresAt);
+    }
+
+    /**
+     * Returns the principal of a well-formed, correctly signed and unexpired token, or null.
+     */
+    public AuthPrincipal verify(String token) {
+        int first = token.indexOf('.');
+        int second = token.indexOf('.', first + 1);
+        if (first < 0 || second < 0 || token.indexOf('.', second + 1) >= 0) {
+            return null;
+        }
+        try {
+            JsonNode header = objectMapper.readTree(DECODER.decode(token.substring(0, first)));
+            String keyId = header.path("kid").asText();
+            if (!"HS256".equals(header.path("alg").asText()) || !keys.containsKey(keyId)) {
+                return null;
+            }
+            byte[] expected = sign(keyId, token.substring(0, second));
+            if (!MessageDigest.isEqual(expected, DECODER.decode(token.substring(second + 1)))) {
+                return null;
+            }
+            JsonNode claims = objectMapper.readTree(DECODER.decode(token.substring(first + 1, second)));
+            if (claims.path("exp").asLong(0) <= Instant.now().getEpochSecond()) {
+                return null;
+            }
+            return new AuthPrincipal(Long.parseLong(claims.path("sub").asText()),
+                    claims.path("role").asText(null), claims.path("name").asText(null));
+        } catch (IllegalArgumentException | IOException e) {
+            return null;
+        }
+    }
+
+    private String encode(Map<String, Object> json) {
+        try {
+            return ENCODER.encodeToString(objectMapper.writeValueAsBytes(json));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private byte[] sign(String keyId, String signingInput) {
+        Mac mac;
+        try {
+            mac = (Mac) keys.get(keyId).clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(ALGORITHM + " does not support cloning", e);
+        }
+        return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static Mac newMac(byte[] secret) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance(ALGORITHM);
+        mac.init(new SecretKeySpec(secret, ALGORITHM));
+        return mac;
+    }
+}
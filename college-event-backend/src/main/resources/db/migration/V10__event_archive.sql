@@ -0,0 +1,7 @@
+ALTER TABLE event ADD COLUMN archive_hold_until DATE NULL;
+
+CREATE TABLE IF NOT EXISTS event_archive LIKE event;
+ALTER TABLE event_archive ADD COLUMN archived_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+
+CREATE TABLE IF NOT EXISTS registration_archive LIKE registration;
+ALTER TABLE registration_archive ADD COLUMN archived_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS idempotency_key (
+    key_hash CHAR(64) NOT NULL,
+    fingerprint CHAR(64) NOT NULL,
+    status INT NOT NULL,
+    body LONGBLOB NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (key_hash),
+    INDEX idx_idempotency_key_created (created_at)
+);
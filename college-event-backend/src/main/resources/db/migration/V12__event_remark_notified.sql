@@ -0,0 +1 @@
+ALTER TABLE event ADD COLUMN remark_notified BIT(1) NOT NULL DEFAULT b'0';
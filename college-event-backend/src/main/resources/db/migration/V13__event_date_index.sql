@@ -0,0 +1,2 @@
+-- Serves the unfiltered admin listing, which pages by (date, id) across all statuses.
+CREATE INDEX idx_event_date_id ON event (date, id);
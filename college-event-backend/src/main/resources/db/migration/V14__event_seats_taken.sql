@@ -0,0 +1,5 @@
+ALTER TABLE event ADD COLUMN seats_taken INT NOT NULL DEFAULT 0;
+
+UPDATE event e
+SET seats_taken = (SELECT COUNT(*) FROM registration r WHERE r.event_id = e.id AND r.status = 'Registered')
+WHERE e.capacity IS NOT NULL;
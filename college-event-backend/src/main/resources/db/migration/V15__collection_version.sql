@@ -0,0 +1,10 @@
+-- Change counters behind the ETags of cached collections, shared by every instance.
+-- The '*' row is the generation bumped by bulk jobs that invalidate everything.
+CREATE TABLE collection_version (
+    collection VARCHAR(64) NOT NULL,
+    version BIGINT NOT NULL,
+    last_modified DATETIME(3) NOT NULL,
+    PRIMARY KEY (collection)
+);
+
+INSERT INTO collection_version (collection, version, last_modified) VALUES ('*', 1, CURRENT_TIMESTAMP(3));
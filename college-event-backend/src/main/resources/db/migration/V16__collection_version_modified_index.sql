@@ -0,0 +1 @@
+CREATE INDEX idx_collection_version_modified ON collection_version (last_modified);
@@ -0,0 +1,13 @@
+-- Proposal status/remark changes pushed to faculty dashboards. The id is the SSE sequence,
+-- shared by every instance; rows are pruned after events.change-feed.retention-hours.
+CREATE TABLE event_status_change (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    event_id BIGINT NOT NULL,
+    faculty_id BIGINT NOT NULL,
+    status VARCHAR(255),
+    remark VARCHAR(255),
+    changed_at DATETIME(3) NOT NULL,
+    PRIMARY KEY (id),
+    KEY idx_event_status_change_faculty (faculty_id, id),
+    KEY idx_event_status_change_changed_at (changed_at)
+);
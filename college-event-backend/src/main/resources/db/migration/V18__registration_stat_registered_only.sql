@@ -0,0 +1,13 @@
+-- Instances now add deltas to registration_stat instead of overwriting it with their own totals,
+-- and only Registered seats count. Start from exact totals.
+DELETE FROM registration_stat;
+
+INSERT INTO registration_stat (scope, stat_key, count)
+SELECT 'event', CAST(event_id AS CHAR), COUNT(*) FROM registration WHERE status = 'Registered' GROUP BY event_id;
+
+INSERT INTO registration_stat (scope, stat_key, count)
+SELECT 'faculty', CAST(faculty_id AS CHAR), COUNT(*) FROM registration WHERE status = 'Registered' GROUP BY faculty_id;
+
+INSERT INTO registration_stat (scope, stat_key, count)
+SELECT 'day', DATE_FORMAT(date, '%Y-%m-%d'), COUNT(*) FROM registration
+WHERE status = 'Registered' AND date IS NOT NULL GROUP BY date;
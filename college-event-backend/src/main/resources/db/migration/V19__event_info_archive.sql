@@ -0,0 +1,10 @@
+-- Rows archived before this column existed lost their flag; treat their remarks as already announced.
+ALTER TABLE event_archive ADD COLUMN remark_notified BIT(1) NOT NULL DEFAULT b'1';
+ALTER TABLE event_archive ALTER COLUMN remark_notified SET DEFAULT b'0';
+
+CREATE TABLE IF NOT EXISTS event_info_archive LIKE event_info;
+ALTER TABLE event_info_archive ADD COLUMN archived_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+
+INSERT INTO event_info_archive (event_id, encoding, content)
+SELECT i.event_id, i.encoding, i.content FROM event_info i JOIN event_archive a ON a.id = i.event_id;
+DELETE i FROM event_info i JOIN event_archive a ON a.id = i.event_id;
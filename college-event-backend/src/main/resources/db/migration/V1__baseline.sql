@@ -0,0 +1,34 @@
+CREATE TABLE IF NOT EXISTS user (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255),
+    email VARCHAR(255),
+    password VARCHAR(255),
+    role VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS event (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    faculty_id BIGINT NOT NULL,
+    title VARCHAR(255),
+    venue VARCHAR(255),
+    date DATE NOT NULL,
+    description VARCHAR(255),
+    status VARCHAR(255),
+    remark VARCHAR(255),
+    faculty_name VARCHAR(255),
+    info TEXT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS registration (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    event_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    status VARCHAR(255),
+    date DATE,
+    student_name VARCHAR(255),
+    faculty_id BIGINT NOT NULL,
+    faculty_name VARCHAR(255),
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,13 @@
+-- Keep the oldest row of any duplicate (student, event) pair so the unique key can be added.
+DELETE r1 FROM registration r1
+    JOIN registration r2
+      ON r1.student_id = r2.student_id
+     AND r1.event_id = r2.event_id
+     AND r1.id > r2.id;
+
+ALTER TABLE registration ADD CONSTRAINT uk_registration_student_event UNIQUE (student_id, event_id);
+CREATE INDEX idx_registration_event ON registration (event_id);
+CREATE INDEX idx_registration_faculty ON registration (faculty_id);
+
+CREATE INDEX idx_event_status_date ON event (status, date);
+CREATE INDEX idx_event_faculty ON event (faculty_id);
@@ -0,0 +1,8 @@
+-- Table-backed sequence for Registration ids (MySQL has no native sequences).
+-- Pooled ids let Hibernate batch registration inserts, which IDENTITY prevents.
+CREATE TABLE registration_seq (
+    next_val BIGINT
+);
+
+INSERT INTO registration_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 51 FROM registration;
@@ -0,0 +1,9 @@
+-- Emails become the login key. Older duplicate accounts keep their rows but get a
+-- disambiguated email so the unique index can be created; the oldest account wins.
+UPDATE user u
+    JOIN user d
+      ON u.email = d.email
+     AND u.id > d.id
+SET u.email = CONCAT(u.email, '#dup-', u.id);
+
+CREATE UNIQUE INDEX uk_user_email ON user (email);
@@ -0,0 +1,7 @@
+CREATE TABLE registration_stat (
+    scope VARCHAR(16) NOT NULL,
+    stat_key VARCHAR(32) NOT NULL,
+    count BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (scope, stat_key)
+);
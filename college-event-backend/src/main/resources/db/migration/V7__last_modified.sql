@@ -0,0 +1,2 @@
+ALTER TABLE event ADD COLUMN last_modified DATETIME(6) NULL;
+ALTER TABLE registration ADD COLUMN last_modified DATETIME(6) NULL;
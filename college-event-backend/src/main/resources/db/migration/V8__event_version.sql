@@ -0,0 +1 @@
+ALTER TABLE event ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
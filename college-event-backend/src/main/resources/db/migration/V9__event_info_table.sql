@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS event_info (
+    event_id BIGINT NOT NULL,
+    encoding VARCHAR(8) NOT NULL,
+    content LONGBLOB NOT NULL,
+    PRIMARY KEY (event_id)
+);
+
+INSERT INTO event_info (event_id, encoding, content)
+SELECT id, 'plain', CAST(CONVERT(info USING utf8mb4) AS BINARY) FROM event WHERE info IS NOT NULL AND info <> '';
+
+ALTER TABLE event DROP COLUMN info;
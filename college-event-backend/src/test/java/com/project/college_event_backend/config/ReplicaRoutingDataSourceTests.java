@@ -0,0 +1,110 @@
+package com.project.college_event_backend.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReplicaRoutingDataSourceTests {
+	private final DataSource primary = database("primary");
+	private final SwitchableDataSource replica = new SwitchableDataSource(database("replica"));
+	private final ReplicaRoutingDataSource router =
+			new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica), 0);
+	private final DataSource dataSource = new LazyConnectionDataSourceProxy(router);
+	private final JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+	// The application runs its transactions through JPA, so route them the same way here
+	private final EntityManagerFactory entityManagerFactory = entityManagerFactory(dataSource);
+	private final EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+
+	@AfterEach
+	void clear() {
+		ReplicaRoutingDataSource.clearReplicaReads();
+		entityManagerFactory.close();
+	}
+
+	@Test
+	void readOnlyTransactionsGoToTheReplicaWhenAllowed() {
+		ReplicaRoutingDataSource.allowReplicaReads();
+
+		assertEquals("replica", node(true));
+		assertEquals("primary", node(false));
+		assertEquals("primary", jdbc.queryForObject("SELECT name FROM node", String.class));
+	}
+
+	@Test
+	void readsStayOnThePrimaryUnlessAllowed() {
+		assertEquals("primary", node(true));
+	}
+
+	@Test
+	void failsOverToThePrimaryAndRejoinsAfterAHealthCheck() {
+		ReplicaRoutingDataSource.allowReplicaReads();
+		replica.down = true;
+
+		assertEquals("primary", node(true));
+		assertEquals(0, router.healthyReplicas());
+
+		replica.down = false;
+		assertEquals("primary", node(true));
+		router.checkReplicas();
+		assertEquals(1, router.healthyReplicas());
+		assertEquals("replica", node(true));
+	}
+
+	private String node(boolean readOnly) {
+		TransactionTemplate tx = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+		tx.setReadOnly(readOnly);
+		return tx.execute(status -> (String) entityManager.createNativeQuery("SELECT name FROM node").getSingleResult());
+	}
+
+	private static EntityManagerFactory entityManagerFactory(DataSource dataSource) {
+		LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+		factory.setDataSource(dataSource);
+		factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+		factory.setPackagesToScan("com.project.college_event_backend.config");
+		factory.afterPropertiesSet();
+		return factory.getObject();
+	}
+
+	private static DataSource database(String name) {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("CREATE TABLE node (name VARCHAR(16))");
+		jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+		return dataSource;
+	}
+
+	private static class SwitchableDataSource extends DelegatingDataSource {
+		volatile boolean down;
+
+		SwitchableDataSource(DataSource target) {
+			super(target);
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			if (down) {
+				throw new SQLException("Connection refused");
+			}
+			return super.getConnection();
+		}
+	}
+}
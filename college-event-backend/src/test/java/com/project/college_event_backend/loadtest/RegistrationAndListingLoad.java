@@ -0,0 +1,96 @@
+package com.project.college_event_backend.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Manual load driver for comparing the platform-thread and virtual-thread modes.
+ * Start the backend once with VIRTUAL_THREADS_ENABLED=false and once with true, then run:
+ *
+ * <pre>
+ * java -cp target/test-classes com.project.college_event_backend.loadtest.RegistrationAndListingLoad \
+ *     http://localhost:8081 &lt;clients&gt; &lt;eventId&gt; &lt;firstStudentId&gt;
+ * </pre>
+ *
+ * Each client lists approved events and then registers one distinct student for the event.
+ * Registration needs a bearer token; pass one obtained from /api/auth/login in LOAD_TOKEN, and
+ * start the backend with RATE_LIMIT_ENABLED=false since every client shares that token.
+ * Run the backend on MySQL with the same pool size in both modes; the bulkhead and pool waits
+ * are what differ between them. No runs have been recorded yet, so neither mode is known to be
+ * faster for this application.
+ */
+public class RegistrationAndListingLoad {
+
+	public static void main(String[] args) throws Exception {
+		String baseUrl = args.length > 0 ? args[0] : "http://localhost:8081";
+		int clients = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+		long eventId = args.length > 2 ? Long.parseLong(args[2]) : 1;
+		long firstStudentId = args.length > 3 ? Long.parseLong(args[3]) : 1;
+		String authorization = "Bearer " + System.getenv().getOrDefault("LOAD_TOKEN", "");
+
+		HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+		Map<String, List<Long>> latencies = new ConcurrentHashMap<>();
+		Map<String, AtomicInteger> statuses = new ConcurrentHashMap<>();
+
+		long start = System.nanoTime();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < clients; i++) {
+				long studentId = firstStudentId + i;
+				executor.submit(() -> {
+					call(http, "listing", HttpRequest.newBuilder(URI.create(baseUrl + "/api/events/all-events")).GET(),
+							latencies, statuses);
+					String body = "{\"eventId\":" + eventId + ",\"studentId\":" + studentId + "}";
+					call(http, "registration", HttpRequest.newBuilder(URI.create(baseUrl + "/api/students/register-student"))
+							.header("Content-Type", "application/json")
+							.header("Authorization", authorization)
+							.POST(HttpRequest.BodyPublishers.ofString(body)), latencies, statuses);
+					return null;
+				});
+			}
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		System.out.printf("%d clients in %.2fs%n", clients, seconds);
+		for (Map.Entry<String, List<Long>> entry : new TreeMap<>(latencies).entrySet()) {
+			List<Long> sorted = new ArrayList<>(entry.getValue());
+			Collections.sort(sorted);
+			System.out.printf("%-12s n=%d rps=%.1f p50=%dms p95=%dms p99=%dms max=%dms%n",
+					entry.getKey(), sorted.size(), sorted.size() / seconds,
+					percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99), sorted.get(sorted.size() - 1));
+		}
+		System.out.println("statuses " + new TreeMap<>(statuses));
+	}
+
+	private static void call(HttpClient http, String name, HttpRequest.Builder request,
+							 Map<String, List<Long>> latencies, Map<String, AtomicInteger> statuses) {
+		long begin = System.nanoTime();
+		String status;
+		try {
+			HttpResponse<Void> response = http.send(request.timeout(Duration.ofSeconds(60)).build(),
+					HttpResponse.BodyHandlers.discarding());
+			status = name + ":" + response.statusCode();
+		} catch (Exception e) {
+			status = name + ":" + e.getClass().getSimpleName();
+		}
+		latencies.computeIfAbsent(name, key -> Collections.synchronizedList(new ArrayList<>()))
+				.add((System.nanoTime() - begin) / 1_000_000);
+		statuses.computeIfAbsent(status, key -> new AtomicInteger()).incrementAndGet();
+	}
+
+	private static long percentile(List<Long> sorted, int percentile) {
+		int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+		return sorted.get(Math.max(0, index));
+	}
+}
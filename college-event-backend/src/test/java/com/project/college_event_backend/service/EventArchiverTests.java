@@ -0,0 +1,133 @@
+package com.project.college_event_backend.service;
+
+import com.project.college_event_backend.model.Event;
+import com.project.college_event_backend.model.EventInfo;
+import com.project.college_event_backend.model.Registration;
+import com.project.college_event_backend.repository.EventInfoRepository;
+import com.project.college_event_backend.repository.EventRepository;
+import com.project.college_event_backend.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:archiver;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(EventArchiver.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventArchiverTests {
+	@Autowired
+	private EventArchiver archiver;
+	@Autowired
+	private EventRepository eventRepository;
+	@Autowired
+	private StudentRepository studentRepository;
+	@Autowired
+	private EventInfoRepository infoRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@MockitoBean
+	private CacheManager cacheManager;
+	@MockitoBean
+	private MetadataCache metadataCache;
+	@MockitoBean
+	private SeatAllocator seatAllocator;
+	@MockitoBean
+	private EventSearchIndex searchIndex;
+	@MockitoBean
+	private RegistrationCounters counters;
+	@MockitoBean
+	private CollectionVersions versions;
+
+	@BeforeEach
+	void createArchiveTables() {
+		// Flyway builds these with CREATE TABLE ... LIKE, which H2 does not support.
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS event_archive (id BIGINT PRIMARY KEY, faculty_id BIGINT NOT NULL, " +
+				"title VARCHAR(255), venue VARCHAR(255), date DATE NOT NULL, description VARCHAR(255), status VARCHAR(255), " +
+				"remark VARCHAR(255), remark_notified BIT(1) NOT NULL DEFAULT b'0', faculty_name VARCHAR(255), capacity INT, " +
+				"last_modified TIMESTAMP(6), version BIGINT, archive_hold_until DATE, " +
+				"archived_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6))");
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS registration_archive (id BIGINT PRIMARY KEY, event_id BIGINT NOT NULL, " +
+				"student_id BIGINT NOT NULL, status VARCHAR(255), date DATE, student_name VARCHAR(255), faculty_id BIGINT NOT NULL, " +
+				"faculty_name VARCHAR(255), last_modified TIMESTAMP(6), archived_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6))");
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS event_info_archive (event_id BIGINT PRIMARY KEY, encoding VARCHAR(8) NOT NULL, " +
+				"content LONGBLOB NOT NULL, archived_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6))");
+	}
+
+	@Test
+	void archivesAndRehydratesEventWithInfoRegistrationsAndRemarkFlag() {
+		LocalDate today = LocalDate.now();
+		Event old = eventRepository.save(event(today.minusYears(2)));
+		Event recent = eventRepository.save(event(today.plusDays(10)));
+		infoRepository.save(new EventInfo(old.getId(), EventInfoStore.PLAIN, "Bring a laptop".getBytes(StandardCharsets.UTF_8)));
+		studentRepository.save(registration(old.getId()));
+
+		assertEquals(1, archiver.archiveBefore(today.minusDays(365)));
+
+		assertNull(eventRepository.findByEventId(old.getId()));
+		assertNotNull(eventRepository.findByEventId(recent.getId()));
+		assertTrue(infoRepository.findById(old.getId()).isEmpty());
+		assertTrue(studentRepository.findByEventId(old.getId()).isEmpty());
+		List<Event> archived = archiver.archivedEvents(null, null, 10);
+		assertEquals(1, archived.size());
+		assertTrue(archived.get(0).isRemarkNotified());
+		assertEquals(1, archiver.archivedRegistrations(old.getId()).size());
+		assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_info_archive", Integer.class));
+
+		Event restored = archiver.rehydrate(old.getId());
+
+		assertNotNull(restored);
+		assertTrue(restored.isRemarkNotified());
+		assertEquals("Moved to hall B", restored.getRemark());
+		assertEquals(today.plusDays(30), restored.getArchiveHoldUntil());
+		assertEquals("Bring a laptop", new String(infoRepository.findById(old.getId()).orElseThrow().getContent(), StandardCharsets.UTF_8));
+		assertEquals(1, studentRepository.findByEventId(old.getId()).size());
+		assertTrue(archiver.archivedEvents(null, null, 10).isEmpty());
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_info_archive", Integer.class));
+		assertNull(archiver.rehydrate(old.getId()));
+	}
+
+	private static Event event(LocalDate date) {
+		Event event = new Event();
+		event.setFacultyId(7);
+		event.setTitle("Hackathon");
+		event.setDate(date);
+		event.setStatus("Approved");
+		event.setRemark("Moved to hall B");
+		event.setRemarkNotified(true);
+		return event;
+	}
+
+	private static Registration registration(long eventId) {
+		Registration registration = new Registration();
+		registration.setEventId(eventId);
+		registration.setStudentId(1);
+		registration.setFacultyId(7);
+		registration.setDate(LocalDate.now().minusYears(2));
+		registration.setStatus(StudentService.REGISTERED);
+		return registration;
+	}
+}
@@ -0,0 +1,39 @@
+package com.project.college_event_backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTests {
+
+	@Test
+	void allowsTheBurstThenRejectsPerClient() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		RateLimiter limiter = limiter(registry, 5, 1);
+
+		for (int i = 0; i < 5; i++) {
+			assertEquals(0, limiter.tryAcquire("login", "ip:10.0.0.1"));
+		}
+		long wait = limiter.tryAcquire("login", "ip:10.0.0.1");
+		assertTrue(wait > 0 && wait <= 60_000_000_000L, "expected to wait at most one refill interval");
+		assertEquals(0, limiter.tryAcquire("login", "ip:10.0.0.2"));
+
+		assertEquals(6, registry.get("rate.limiter.requests").tag("outcome", "allowed").counter().count());
+		assertEquals(1, registry.get("rate.limiter.requests").tag("outcome", "rejected").counter().count());
+	}
+
+	private static RateLimiter limiter(SimpleMeterRegistry registry, int capacity, int refillPerMinute) {
+		RateLimiter limiter = new RateLimiter();
+		ReflectionTestUtils.setField(limiter, "env", new MockEnvironment()
+				.withProperty("rate-limit.policies.login.capacity", Integer.toString(capacity))
+				.withProperty("rate-limit.policies.login.refill-per-minute", Integer.toString(refillPerMinute)));
+		ReflectionTestUtils.setField(limiter, "meterRegistry", registry);
+		ReflectionTestUtils.setField(limiter, "enabled", true);
+		ReflectionTestUtils.setField(limiter, "maxTrackedClients", 1_000L);
+		return limiter;
+	}
+}
@@ -0,0 +1,91 @@
+package com.project.college_event_backend.service;
+
+import com.project.college_event_backend.model.Registration;
+import com.project.college_event_backend.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:counters;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(RegistrationCounters.class)
+class RegistrationCountersTests {
+	private static final LocalDate DAY = LocalDate.of(2030, 5, 1);
+
+	@Autowired
+	private RegistrationCounters counters;
+	@Autowired
+	private StudentRepository studentRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@BeforeEach
+	void createStatTable() {
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS registration_stat (scope VARCHAR(16) NOT NULL, " +
+				"stat_key VARCHAR(32) NOT NULL, count BIGINT NOT NULL, PRIMARY KEY (scope, stat_key))");
+	}
+
+	@Test
+	void rebuildsFromRegisteredRowsThenAddsEveryInstancesDeltas() {
+		studentRepository.save(registration(1, StudentService.REGISTERED));
+		studentRepository.save(registration(2, StudentService.REGISTERED));
+		studentRepository.save(registration(3, StudentService.WAITLISTED));
+
+		counters.rebuild();
+
+		assertEquals(2, counters.forEvent(10));
+		assertEquals(2, counters.forFaculty(7));
+		assertEquals(Map.of(DAY, 2L), counters.perDay(DAY, DAY));
+
+		RegistrationCounters otherInstance = otherInstance();
+		counters.recordAdded(registration(4, StudentService.REGISTERED));
+		counters.recordAdded(registration(5, StudentService.WAITLISTED));
+		otherInstance.recordAdded(registration(6, StudentService.REGISTERED));
+		otherInstance.recordRemoved(registration(1, StudentService.REGISTERED));
+		otherInstance.recordMoved(10, 7, DAY, 5);
+		counters.flush();
+		otherInstance.flush();
+
+		assertEquals(8, counters.forEvent(10));
+		assertEquals(8, otherInstance.forFaculty(7));
+		assertEquals(Map.of(DAY, 8L), counters.perDay(null, null));
+		assertEquals(0, counters.forEvent(11));
+	}
+
+	private RegistrationCounters otherInstance() {
+		RegistrationCounters other = new RegistrationCounters();
+		ReflectionTestUtils.setField(other, "repo", studentRepository);
+		ReflectionTestUtils.setField(other, "jdbcTemplate", jdbcTemplate);
+		ReflectionTestUtils.setField(other, "transactionTemplate", transactionTemplate);
+		return other;
+	}
+
+	private static Registration registration(long studentId, String status) {
+		Registration registration = new Registration();
+		registration.setEventId(10);
+		registration.setStudentId(studentId);
+		registration.setFacultyId(7);
+		registration.setDate(DAY);
+		registration.setStatus(status);
+		return registration;
+	}
+}
@@ -0,0 +1,96 @@
+package com.project.college_event_backend.service;
+
+import com.project.college_event_backend.model.Registration;
+import com.project.college_event_backend.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RegistrationWriteBehindTests {
+	private final StudentRepository repo = mock(StudentRepository.class);
+	private final SeatAllocator seatAllocator = mock(SeatAllocator.class);
+	private final RegistrationCounters counters = mock(RegistrationCounters.class);
+	private final CollectionVersions versions = mock(CollectionVersions.class);
+	private final RegistrationWriteBehind writeBehind = writeBehind();
+
+	@Test
+	void writesRowByRowWhenTheBatchHitsADuplicate() {
+		Registration fresh = registration(1, 10);
+		Registration duplicate = registration(2, 10);
+		when(repo.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("uk_registration_student_event"));
+		when(repo.save(fresh)).thenReturn(fresh);
+		when(repo.save(duplicate)).thenThrow(new DataIntegrityViolationException("uk_registration_student_event"));
+
+		writeBehind.offer(fresh, true);
+		writeBehind.offer(duplicate, true);
+		writeBehind.flush();
+
+		verify(counters).recordAdded(fresh);
+		verify(counters, never()).recordAdded(duplicate);
+		verify(seatAllocator, times(1)).release(10);
+		assertEquals(0, writeBehind.pending());
+		assertFalse(writeBehind.failed(2, 10));
+	}
+
+	@Test
+	void retriesFailedWritesThenReleasesTheSeatAndRecordsTheFailure() {
+		Registration registration = registration(1, 10);
+		when(repo.saveAll(anyList())).thenThrow(new CannotAcquireLockException("Lock wait timeout exceeded"));
+		when(repo.save(any(Registration.class))).thenThrow(new CannotAcquireLockException("Lock wait timeout exceeded"));
+
+		writeBehind.offer(registration, true);
+		writeBehind.flush();
+		assertEquals(1, writeBehind.pending(), "a transient failure goes back on the queue");
+		assertTrue(writeBehind.queued(1, 10) != null);
+
+		writeBehind.flush();
+		writeBehind.flush();
+
+		assertEquals(0, writeBehind.pending());
+		assertNull(writeBehind.queued(1, 10));
+		assertTrue(writeBehind.failed(1, 10));
+		verify(seatAllocator).release(10);
+		verify(counters, never()).recordAdded(any());
+	}
+
+	private RegistrationWriteBehind writeBehind() {
+		RegistrationWriteBehind writeBehind = new RegistrationWriteBehind();
+		ReflectionTestUtils.setField(writeBehind, "repo", repo);
+		ReflectionTestUtils.setField(writeBehind, "seatAllocator", seatAllocator);
+		ReflectionTestUtils.setField(writeBehind, "counters", counters);
+		ReflectionTestUtils.setField(writeBehind, "versions", versions);
+		ReflectionTestUtils.setField(writeBehind, "transactionTemplate",
+				new TransactionTemplate(mock(PlatformTransactionManager.class)));
+		ReflectionTestUtils.setField(writeBehind, "enabled", true);
+		ReflectionTestUtils.setField(writeBehind, "queueCapacity", 100);
+		ReflectionTestUtils.setField(writeBehind, "batchSize", 50);
+		ReflectionTestUtils.setField(writeBehind, "maxAttempts", 3);
+		ReflectionTestUtils.setField(writeBehind, "failureRetentionMs", 60_000L);
+		writeBehind.init();
+		return writeBehind;
+	}
+
+	private static Registration registration(long studentId, long eventId) {
+		Registration registration = new Registration();
+		registration.setStudentId(studentId);
+		registration.setEventId(eventId);
+		registration.setFacultyId(7);
+		registration.setStatus(StudentService.REGISTERED);
+		return registration;
+	}
+}
@@ -0,0 +1,179 @@
+package com.project.college_event_backend.service;
+
+import com.project.college_event_backend.model.Event;
+import com.project.college_event_backend.model.Registration;
+import com.project.college_event_backend.model.User;
+import com.project.college_event_backend.repository.EventRepository;
+import com.project.college_event_backend.repository.StudentRepository;
+import com.project.college_event_backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:students;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({StudentService.class, SeatAllocator.class, MetadataCache.class, RegistrationWriteBehind.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StudentServiceTests {
+
+	@Autowired
+	private StudentService studentService;
+	@Autowired
+	private MetadataCache metadataCache;
+	@Autowired
+	private RegistrationWriteBehind writeBehind;
+	@Autowired
+	private EventRepository eventRepository;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private StudentRepository studentRepository;
+	@Autowired
+	private SeatAllocator seatAllocator;
+	@MockitoBean
+	private RegistrationCounters counters;
+	@MockitoBean
+	private CollectionVersions versions;
+
+	@Test
+	void neverOverbooksUnderConcurrentRegistrations() throws Exception {
+		Event event = event(100);
+		List<Long> students = students(5_000);
+
+		ExecutorService pool = Executors.newFixedThreadPool(64);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Registration>> results = new ArrayList<>();
+		for (long studentId : students) {
+			results.add(pool.submit(() -> {
+				start.await();
+				return studentService.registerStudent(registration(event, studentId));
+			}));
+		}
+		start.countDown();
+
+		int seated = 0;
+		for (Future<Registration> result : results) {
+			if (StudentService.REGISTERED.equals(result.get().getStatus())) {
+				seated++;
+			}
+		}
+		pool.shutdown();
+
+		assertEquals(100, seated);
+		assertEquals(100, registered(event));
+		assertEquals(100, eventRepository.findByEventId(event.getId()).getSeatsTaken());
+	}
+
+	@Test
+	void recountingGivesBackLeakedSeats() {
+		Event event = event(2);
+		List<Long> students = students(2);
+
+		studentService.registerStudent(registration(event, students.get(0)));
+		eventRepository.takeSeat(event.getId());
+		assertEquals(2, eventRepository.findByEventId(event.getId()).getSeatsTaken());
+
+		seatAllocator.recount(event.getId(), 0, true);
+
+		assertEquals(1, eventRepository.findByEventId(event.getId()).getSeatsTaken());
+		Registration second = studentService.registerStudent(registration(event, students.get(1)));
+		assertEquals(StudentService.REGISTERED, second.getStatus());
+	}
+
+	@Test
+	void queuedRegistrationsKeepTheirSeatsWhenACapacityIsSet() {
+		Event event = event(null);
+		List<Long> students = students(4);
+
+		studentService.registerStudent(registration(event, students.get(0)));
+		studentService.enqueueRegistration(registration(event, students.get(1)));
+		studentService.enqueueRegistration(registration(event, students.get(2)));
+		assertEquals(2, writeBehind.pendingRegistered(event.getId()));
+
+		event.setCapacity(3);
+		eventRepository.save(event);
+		metadataCache.evictEvent(event.getId());
+		studentService.recountSeats(event.getId());
+
+		Registration late = studentService.registerStudent(registration(event, students.get(3)));
+		assertEquals(StudentService.WAITLISTED, late.getStatus());
+	}
+
+	@Test
+	void cancellingARegisteredSeatPromotesTheWaitlist() {
+		Event event = event(1);
+		List<Long> students = students(2);
+
+		Registration first = studentService.registerStudent(registration(event, students.get(0)));
+		Registration second = studentService.registerStudent(registration(event, students.get(1)));
+		assertEquals(StudentService.WAITLISTED, second.getStatus());
+		assertEquals(List.of(), studentService.registeredEventIds(students.get(1), List.of(event.getId())));
+
+		studentService.deleteRegistration(first);
+
+		assertEquals(StudentService.REGISTERED, studentRepository.findById(second.getId()).orElseThrow().getStatus());
+		assertEquals(List.of(event.getId()), studentService.registeredEventIds(students.get(1), List.of(event.getId())));
+		assertEquals(1, eventRepository.findByEventId(event.getId()).getSeatsTaken());
+	}
+
+	private Event event(Integer capacity) {
+		Event event = new Event();
+		event.setTitle("Hackathon");
+		event.setDate(LocalDate.now().plusDays(7));
+		event.setStatus("Approved");
+		event.setFacultyId(1);
+		event.setFacultyName("Faculty");
+		event.setCapacity(capacity);
+		return eventRepository.save(event);
+	}
+
+	private List<Long> students(int count) {
+		List<User> users = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			User user = new User();
+			user.setName("Student " + i);
+			user.setEmail("student-" + System.nanoTime() + "-" + i + "@example.com");
+			user.setRole("student");
+			users.add(user);
+		}
+		List<Long> ids = new ArrayList<>();
+		for (User user : userRepository.saveAll(users)) {
+			ids.add(user.getId());
+		}
+		return ids;
+	}
+
+	private long registered(Event event) {
+		return studentRepository.findByEventId(event.getId()).stream()
+				.filter(registration -> StudentService.REGISTERED.equals(registration.getStatus()))
+				.count();
+	}
+
+	private static Registration registration(Event event, long studentId) {
+		Registration registration = new Registration();
+		registration.setEventId(event.getId());
+		registration.setStudentId(studentId);
+		return registration;
+	}
+}
@@ -0,0 +1,57 @@
+package com.project.college_event_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.college_event_backend.model.AuthPrincipal;
+import com.project.college_event_backend.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TokenServiceTests {
+
+	private static final String KEY_1 = Base64.getEncoder().encodeToString("first-secret-0123456789abcdef012".getBytes());
+	private static final String KEY_2 = Base64.getEncoder().encodeToString("second-secret-0123456789abcdef01".getBytes());
+
+	@Test
+	void verifiesIssuedTokensAndRejectsTamperedOnes() throws Exception {
+		TokenService tokens = tokenService("k1=" + KEY_1, "k1", 60);
+		String token = tokens.issue(new User(42, "Ada", "ada@example.com", null, "faculty")).token();
+
+		AuthPrincipal principal = tokens.verify(token);
+		assertNotNull(principal);
+		assertEquals(new AuthPrincipal(42, "faculty", "Ada"), principal);
+
+		String[] parts = token.split("\\.");
+		String forgedClaims = Base64.getUrlEncoder().withoutPadding()
+				.encodeToString("{\"sub\":\"42\",\"role\":\"admin\",\"name\":\"Ada\",\"exp\":9999999999}".getBytes());
+		assertNull(tokens.verify(parts[0] + "." + forgedClaims + "." + parts[2]));
+		assertNull(tokens.verify(token + "x"));
+		assertNull(tokens.verify("not-a-token"));
+	}
+
+	@Test
+	void acceptsTokensSignedWithARetiredKeyAndRejectsExpiredOnes() throws Exception {
+		String oldToken = tokenService("k1=" + KEY_1, "k1", 60).issue(new User(7, "Bo", "bo@example.com", null, "student")).token();
+		TokenService rotated = tokenService("k1=" + KEY_1 + ",k2=" + KEY_2, "k2", 60);
+		assertNotNull(rotated.verify(oldToken));
+		assertNull(tokenService("k2=" + KEY_2, "k2", 60).verify(oldToken));
+
+		TokenService expiring = tokenService("k1=" + KEY_1, "k1", 0);
+		assertNull(expiring.verify(expiring.issue(new User(7, "Bo", "bo@example.com", null, "student")).token()));
+	}
+
+	private static TokenService tokenService(String keys, String activeKeyId, long ttlMinutes) throws Exception {
+		TokenService tokens = new TokenService();
+		ReflectionTestUtils.setField(tokens, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(tokens, "configuredKeys", keys);
+		ReflectionTestUtils.setField(tokens, "activeKeyId", activeKeyId);
+		ReflectionTestUtils.setField(tokens, "ttlMinutes", ttlMinutes);
+		tokens.loadKeys();
+		return tokens;
+	}
+}
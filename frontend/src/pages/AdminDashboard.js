@@ -1,5 +1,5 @@
-import React, { useState, useEffect } from 'react';
-import { getEvents, getRequestedEvents, approveEventRequest, rejectEventRequest, registerFaculty, addRemarkToEvent, adminCreateEvent, getEventsByFacultyId, cancelEvent, getEventRegistrations } from '../services/api';
+import React, { useState, useEffect, useRef } from 'react';
+import { getEvents, newIdempotencyKey, getRequestedEvents, approveEventRequest, rejectEventRequest, registerFaculty, addRemarkToEvent, adminCreateEvent, getEventsByFacultyId, cancelEvent, getEventRegistrations, fillEventInfo } from '../services/api';
 import { useNavigate } from 'react-router-dom';
 import { getCurrentUser, logout } from '../services/auth';
 
@@ -138,6 +138,7 @@ function AdminDashboard() {
   
   // Event creation state
   const [eventForm, setEventForm] = useState({ title: '', date: '', venue: '', description: '', info: '' });
+  const createKey = useRef(null); // Idempotency key of the create form as currently filled in
   const [eventSubmitting, setEventSubmitting] = useState(false);
   const [eventSuccess, setEventSuccess] = useState('');
   const [eventError, setEventError] = useState('');
@@ -149,12 +150,12 @@ function AdminDashboard() {
   const [cancellingEventId, setCancellingEventId] = useState(null);
   
   // Handle cancel event
-  const handleCancelEvent = async (eventId) => {
+  const handleCancelEvent = async (eventId, version) => {
     // Confirm with the user
     if (window.confirm('Are you sure you want to cancel this event?')) {
       setCancellingEventId(eventId);
       try {
-        await cancelEvent(eventId);
+        await cancelEvent(eventId, version);
         // Remove the event from the myEvents list
         setMyEvents(prev => prev.filter(event => (event.id !== eventId && event._id !== eventId)));
         // Remove the event from requests if it's there
@@ -162,7 +163,9 @@ function AdminDashboard() {
         alert('Event cancelled successfully');
       } catch (error) {
         console.error('Error cancelling event:', error);
-        alert('Failed to cancel event. Please try again.');
+        alert(error.response?.status === 409
+          ? 'This event was changed in the meantime. Reload and try again.'
+          : 'Failed to cancel event. Please try again.');
       } finally {
         setCancellingEventId(null);
       }
@@ -323,11 +326,11 @@ function AdminDashboard() {
         remark: remarkText
       };
       
-      await addRemarkToEvent(currentEventObj.id, completeEventData);
+      const res = await addRemarkToEvent(currentEventObj.id, completeEventData);
       
-      // Update local state to reflect the change
+      // Update local state to reflect the change, including the new version
       setRequests(prev => prev.map(r => 
-        r.id === currentEventObj.id ? { ...r, remark: remarkText } : r
+        r.id === currentEventObj.id ? { ...r, remark: remarkText, version: res.data?.version ?? r.version } : r
       ));
       
       setShowModifyModal(false);
@@ -374,6 +377,7 @@ function AdminDashboard() {
   
   // Handle event form input changes
   const handleEventChange = (e) => {
+    createKey.current = null;
     setEventForm({ ...eventForm, [e.target.name]: e.target.value });
   };
   
@@ -409,7 +413,9 @@ function AdminDashboard() {
         status: 'Approved' // Set as approved since admin is creating directly
       };
       
-      await adminCreateEvent(eventData);
+      createKey.current = createKey.current || newIdempotencyKey();
+      await adminCreateEvent(eventData, createKey.current);
+      createKey.current = null;
       setEventSuccess('Event created successfully!');
       
       // Reset form
@@ -467,6 +473,7 @@ function AdminDashboard() {
                     onClick={() => {
                       setCurrentEventObj(event);
                       setShowEventDetailModal(true);
+                      fillEventInfo(event, setCurrentEventObj);
                     }}
                     onMouseOver={(e) => {
                       e.currentTarget.style.boxShadow = '0 4px 8px rgba(0,0,0,0.1)';
@@ -549,7 +556,7 @@ function AdminDashboard() {
                             fontSize: 12,
                             opacity: cancellingEventId === (event.id || event._id) ? 0.7 : 1
                           }}
-                          onClick={() => handleCancelEvent(event.id || event._id)}
+                          onClick={() => handleCancelEvent(event.id || event._id, event.version)}
                           disabled={cancellingEventId === (event.id || event._id)}
                         >
                           {cancellingEventId === (event.id || event._id) ? 'Cancelling...' : 'Cancel Event'}
@@ -646,7 +653,7 @@ function AdminDashboard() {
                             
                             {/* Cancel button for Approved events */}
                             <button 
-                              onClick={() => handleCancelEvent(req.id)} 
+                              onClick={() => handleCancelEvent(req.id, req.version)} 
                               disabled={cancellingEventId === req.id} 
                               style={{ 
                                 padding: '6px 16px', 
@@ -1,5 +1,5 @@
-import React, { useState, useEffect } from 'react';
-import { getEvents, requestEvent, getRequestedEvents, getEventsByFacultyId, editEventRequest, markRemarkAsNotified, cancelEvent, getEventRegistrations } from '../services/api';
+import React, { useState, useEffect, useRef } from 'react';
+import { getEvents, newIdempotencyKey, requestEvent, subscribeToProposalChanges, getEventsByFacultyId, editEventRequest, markRemarkAsNotified, cancelEvent, getEventRegistrations, fillEventInfo } from '../services/api';
 
 // Modal component for detailed event view
 const Modal = ({ show, onClose, title, children }) => {
@@ -110,6 +110,7 @@ function FacultyDashboard() {
     }
   }, [userInfo.id]);
   const [editingEvent, setEditingEvent] = useState(null); // Store the event being edited
+  const requestKey = useRef(null); // Idempotency key of the request form as currently filled in
   const [myRequestId, setMyRequestId] = useState(null);
   const [polling, setPolling] = useState(false);
   const [submitting, setSubmitting] = useState(false);
@@ -256,22 +257,25 @@ function FacultyDashboard() {
 
   // Handle form input
   const handleChange = e => {
+    requestKey.current = null;
     setForm({ ...form, [e.target.name]: e.target.value });
   };
 
   // Handle cancelling an event
-  const handleCancelEvent = async (eventId) => {
+  const handleCancelEvent = async (eventId, version) => {
     // Confirm with the user
     if (window.confirm('Are you sure you want to cancel this event?')) {
       setCancellingEventId(eventId);
       try {
-        await cancelEvent(eventId);
+        await cancelEvent(eventId, version);
         // Remove the event from the myRequests list
         setMyRequests(prev => prev.filter(event => (event.id !== eventId && event._id !== eventId)));
         alert('Event cancelled successfully');
       } catch (error) {
         console.error('Error cancelling event:', error);
-        alert('Failed to cancel event. Please try again.');
+        alert(error.response?.status === 409
+          ? 'This event was changed in the meantime. Reload and try again.'
+          : 'Failed to cancel event. Please try again.');
       } finally {
         setCancellingEventId(null);
       }
@@ -304,7 +308,8 @@ function FacultyDashboard() {
         const payload = { 
           ...form,
           facultyId: currentUserInfo.id, // Use current faculty ID
-          status: 'Pending' // Explicitly set status to Pending when editing an event
+          status: 'Pending', // Explicitly set status to Pending when editing an event
+          version: editingEvent.version // The server rejects the edit if someone changed it since
         };
         console.log('Editing event with faculty ID:', currentUserInfo.id);
         res = await editEventRequest(editingEvent.id || editingEvent._id, payload);
@@ -317,7 +322,9 @@ function FacultyDashboard() {
           facultyId: currentUserInfo.id // Use current faculty ID
         };
         console.log('Creating event with faculty ID:', currentUserInfo.id);
-        res = await requestEvent(payload);
+        requestKey.current = requestKey.current || newIdempotencyKey();
+        res = await requestEvent(payload, requestKey.current);
+        requestKey.current = null;
         setSuccessMsg('Event request sent to admin for approval!');
       }
       
@@ -333,72 +340,74 @@ function FacultyDashboard() {
       setMyRequestId(res.data?.id || res.data?._id || null);
       setPolling(true);
     } catch (err) {
-      setErrorMsg('Failed to send event request.');
+      setErrorMsg(err.response?.status === 409
+        ? 'This event was changed in the meantime. Reload it and edit again.'
+        : 'Failed to send event request.');
     }
     setSubmitting(false);
   };
 
-  // Poll for approval of the latest request and check for remarks
+  // Listen for approval of the latest request and for remarks
   useEffect(() => {
-    let interval;
-    if (polling && myRequestId) {
-      interval = setInterval(async () => {
-        try {
-          const res = await getRequestedEvents();
-          const req = res.data?.find(r => r.id === myRequestId || r._id === myRequestId);
-          if (req) {
-            const status = (req.status || '').toString().trim().toLowerCase();
-            console.log('Polling: myRequestId', myRequestId, 'found request:', req, 'status:', status);
-            
-            // Check for new remark - ONLY if it hasn't been notified yet
-            if (req.remark && req.remarkNotified === false) {
-              window.alert(`Admin has added remark to your event request: "${req.remark}"`);
-              
-              try {
-                // Call API to mark the remark as notified on the server
-                await markRemarkAsNotified(myRequestId);
-                
-                // Also update in local state
-                setMyRequests(prevRequests => 
-                  prevRequests.map(r => 
-                    (r.id === myRequestId || r._id === myRequestId) 
-                      ? { ...r, remarkNotified: true } 
-                      : r
-                  )
-                );
-                
-                // Update the polling request object to prevent repeat alerts in the current session
-                req.remarkNotified = true;
-                
-                // Stop polling after showing the remark
-                setPolling(false);
-              } catch (error) {
-                console.error('Failed to mark remark as notified:', error);
-              }
-            }
-            
-            // Check for approval
-            if (status === 'approved' || status === 'Approved'.toLowerCase()) {
-              setSuccessMsg('Your event has been approved and is now live!');
-              setPolling(false);
-              // Optionally, refresh events list
-              const eventsRes = await getEvents();
-              setEvents(eventsRes.data || []);
-              
-              // Show appropriate alert based on whether there is a remark
-              if (req.remark) {
-                window.alert(`Your event request has been approved with remark: "${req.remark}". The event is now public.`);
-              } else {
-                window.alert('Your event request has been approved! The event is now public.');
-              }
-            }
-          }
-        } catch (err) {
-          // console.error('Polling error:', err);
-        }
-      }, 2000);
+    const facultyId = getUserInfo().id;
+    if (!polling || !myRequestId || !facultyId) {
+      return undefined;
     }
-    return () => clearInterval(interval);
+    let handled = false;
+    const applyChange = async (change) => {
+      if (handled || change.eventId !== myRequestId) {
+        return;
+      }
+      const status = (change.status || '').toString().trim().toLowerCase();
+
+      if (status === 'approved') {
+        handled = true;
+        setSuccessMsg('Your event has been approved and is now live!');
+        setPolling(false);
+        const eventsRes = await getEvents();
+        setEvents(eventsRes.data || []);
+
+        if (change.remark) {
+          window.alert(`Your event request has been approved with remark: "${change.remark}". The event is now public.`);
+          markRemarkAsNotified(myRequestId).catch(error => console.error('Failed to mark remark as notified:', error));
+        } else {
+          window.alert('Your event request has been approved! The event is now public.');
+        }
+      } else if (change.remark) {
+        handled = true;
+        window.alert(`Admin has added remark to your event request: "${change.remark}"`);
+        markRemarkAsNotified(myRequestId).catch(error => console.error('Failed to mark remark as notified:', error));
+        setMyRequests(prevRequests =>
+          prevRequests.map(r =>
+            (r.id === myRequestId || r._id === myRequestId)
+              ? { ...r, status: change.status, remark: change.remark, remarkNotified: true }
+              : r
+          )
+        );
+        setPolling(false);
+      }
+    };
+
+    const source = subscribeToProposalChanges(facultyId);
+    source.addEventListener('status-change', (message) => applyChange(JSON.parse(message.data)));
+    // The stream only carries changes from now on; check the request itself once connected, so an
+    // approval or remark that landed before the subscription is not missed
+    source.addEventListener('open', async () => {
+      try {
+        const res = await getEventsByFacultyId(facultyId);
+        const request = (res.data || []).find(r => (r.id || r._id) === myRequestId);
+        if (request) {
+          await applyChange({
+            eventId: myRequestId,
+            status: request.status,
+            remark: request.remarkNotified ? null : request.remark // Already shown earlier
+          });
+        }
+      } catch (error) {
+        console.error('Failed to load the event request:', error);
+      }
+    });
+    return () => source.close();
   }, [polling, myRequestId]);
   
   // Fetch requested events for this faculty
@@ -411,9 +420,7 @@ function FacultyDashboard() {
           const currentUserInfo = getUserInfo();
           // Use the current user ID from session storage
           if (currentUserInfo.id) {
-            // Add a cache-busting parameter to prevent browser caching
-            const timestamp = new Date().getTime();
-            const res = await getEventsByFacultyId(currentUserInfo.id, { timestamp });
+            const res = await getEventsByFacultyId(currentUserInfo.id);
             
             // Check for unnotified remarks and mark them
             const events = res.data || [];
@@ -511,6 +518,7 @@ function FacultyDashboard() {
                         onClick={() => {
                           setCurrentEventObj(event);
                           setShowEventDetailModal(true);
+                          fillEventInfo(event, setCurrentEventObj);
                         }}
                         onMouseOver={(e) => {
                           e.currentTarget.style.boxShadow = '0 4px 8px rgba(0,0,0,0.1)';
@@ -606,7 +614,7 @@ function FacultyDashboard() {
                                 fontSize: 12,
                                 opacity: cancellingEventId === (request.id || request._id) ? 0.7 : 1
                               }}
-                              onClick={() => handleCancelEvent(request.id || request._id)}
+                              onClick={() => handleCancelEvent(request.id || request._id, request.version)}
                               disabled={cancellingEventId === (request.id || request._id)}
                             >
                               {cancellingEventId === (request.id || request._id) ? 'Cancelling...' : 'Cancel Event'}
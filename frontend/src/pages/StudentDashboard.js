@@ -1,5 +1,5 @@
-import React, { useState, useEffect } from 'react';
-import { getEvents, registerForEvent, checkEventRegistration, getStudentRegistrations, cancelEventRegistration } from '../services/api';
+import React, { useState, useEffect, useRef } from 'react';
+import { getEvents, newIdempotencyKey, registerForEvent, checkEventRegistrations, getStudentRegistrations, cancelEventRegistration, fillEventInfo } from '../services/api';
 import { useNavigate } from 'react-router-dom';
 import { getCurrentUser, logout } from '../services/auth';
 
@@ -88,6 +88,7 @@ function StudentDashboard() {
   const [enrollmentError, setEnrollmentError] = useState('');
   const [enrollmentSuccess, setEnrollmentSuccess] = useState('');
   const [enrolledEventIds, setEnrolledEventIds] = useState([]);
+  const enrollKeys = useRef({});
   const [enrolledEvents, setEnrolledEvents] = useState([]);
   const [loadingEnrolled, setLoadingEnrolled] = useState(false);
   const [registrationMap, setRegistrationMap] = useState({});
@@ -98,19 +99,6 @@ function StudentDashboard() {
     return enrolledEventIds.some(id => id === eventId);
   };
 
-  // Check the enrollment status of a specific event
-  const checkSingleEventEnrollment = async (eventId) => {
-    if (!userInfo.id) return false;
-    
-    try {
-      const response = await checkEventRegistration(userInfo.id, eventId);
-      return response.data && response.data.status === 'Registered';
-    } catch (error) {
-      console.error(`Error checking enrollment for event ${eventId}:`, error);
-      return false;
-    }
-  };
-  
   // Function to fetch enrolled events with full details
   const fetchEnrolledEvents = async () => {
     if (!userInfo.id) return;
@@ -191,6 +179,17 @@ function StudentDashboard() {
         const sortedEvents = approvedEvents.sort((a, b) => new Date(a.date) - new Date(b.date));
 
         setUpcomingEvents(sortedEvents);
+
+        // One bulk lookup for the whole list instead of a request per event
+        if (userInfo.id) {
+          try {
+            const eventIds = sortedEvents.map(event => event.id || event._id).filter(Boolean);
+            const registered = await checkEventRegistrations(userInfo.id, eventIds);
+            setEnrolledEventIds(prev => [...new Set([...prev, ...registered])]);
+          } catch (error) {
+            console.error('Error checking enrollments:', error);
+          }
+        }
       } catch (err) {
         setUpcomingEvents([]);
       }
@@ -219,21 +218,20 @@ function StudentDashboard() {
     
     try {
       // Check if already registered
-      const isAlreadyRegistered = await checkSingleEventEnrollment(eventId);
-      
-      if (isAlreadyRegistered) {
+      if (isEnrolled(eventId)) {
         setEnrollmentError('You are already enrolled in this event.');
-        setEnrolledEventIds(prev => [...prev, eventId]);
         setEnrolling(false);
         return;
       }
       
-      // If not registered, proceed with registration
+      // If not registered, proceed with registration. Clicking Enroll again after a failure
+      // repeats the same action, so it reuses the key (the server sets the date itself)
+      const key = enrollKeys.current[eventId] || (enrollKeys.current[eventId] = newIdempotencyKey());
       const response = await registerForEvent({
         studentId: userInfo.id,
-        eventId: eventId,
-        date: new Date().toISOString()
-      });
+        eventId: eventId
+      }, key);
+      delete enrollKeys.current[eventId];
       
       if (response.data && (response.data.status === 'Registered' || response.data.status === 'Success')) {
         setEnrolledEventIds(prev => [...prev, eventId]);
@@ -241,6 +239,9 @@ function StudentDashboard() {
         
         // Refresh enrolled events list after successful enrollment
         fetchEnrolledEvents();
+      } else if (response.data && response.data.status === 'Waitlisted') {
+        setEnrollmentSuccess('The event is full, you have been added to the waitlist.');
+        fetchEnrolledEvents();
       } else {
         setEnrollmentError('Failed to enroll in event. Please try again.');
       }
@@ -345,17 +346,10 @@ function StudentDashboard() {
                   cursor: 'pointer',
                   transition: 'all 0.2s ease'
                 }}
-                onClick={async () => {
+                onClick={() => {
                   setSelectedEvent(event);
                   setShowModal(true);
-                  
-                  // Check if user is registered for this event
-                  const eventId = event.id || event._id;
-                  const isRegistered = await checkSingleEventEnrollment(eventId);
-                  
-                  if (isRegistered && !enrolledEventIds.includes(eventId)) {
-                    setEnrolledEventIds(prev => [...prev, eventId]);
-                  }
+                  fillEventInfo(event, setSelectedEvent);
                 }}
                 onMouseOver={(e) => {
                   e.currentTarget.style.boxShadow = '0 4px 8px rgba(0,0,0,0.1)';
@@ -445,6 +439,7 @@ function StudentDashboard() {
                 onClick={() => {
                   setSelectedEvent(event);
                   setShowModal(true);
+                  fillEventInfo(event, setSelectedEvent);
                   // Keep track that we're coming from the my-events tab
                   // This helps show the correct button in the modal
                 }}
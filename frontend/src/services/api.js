@@ -8,6 +8,8 @@ const api = axios.create({
   baseURL: BASE_URL
 });
 
+let readPrimaryUntil = 0;
+
 // Add a request interceptor to include the auth token in all requests
 api.interceptors.request.use(
   (config) => {
@@ -15,6 +17,9 @@ api.interceptors.request.use(
     if (token) {
       config.headers['Authorization'] = `Bearer ${token}`;
     }
+    if (readPrimaryUntil > Date.now()) {
+      config.headers['Read-Primary-Until'] = readPrimaryUntil;
+    }
     return config;
   },
   (error) => {
@@ -22,6 +27,50 @@ api.interceptors.request.use(
   }
 );
 
+// After a write the server asks for reads from the primary database for a few seconds; echo the
+// time back so our own change shows up on whichever server answers the next read
+const rememberReadPrimaryUntil = (response) => {
+  const until = Number(response?.headers['read-primary-until']);
+  if (until > readPrimaryUntil) {
+    readPrimaryUntil = until;
+  }
+};
+api.interceptors.response.use(
+  (response) => {
+    rememberReadPrimaryUntil(response);
+    return response;
+  },
+  (error) => {
+    rememberReadPrimaryUntil(error.response);
+    return Promise.reject(error);
+  }
+);
+
+// Create one key per user action (a submitted form, an Enroll click) and pass it again when the
+// user repeats that action after a failure, so the server replays the first result
+export const newIdempotencyKey = () => crypto.randomUUID();
+const idempotent = (key) => ({ headers: { 'Idempotency-Key': key } });
+
+// Lost responses, gateway errors and "still in progress" answers are retried with the same key
+const RETRY_DELAYS_MS = [500, 1000, 2000];
+const isRetryable = (error) => {
+  const status = error.response?.status;
+  return !error.response || status === 502 || status === 503 || status === 504 ||
+    (status === 409 && error.response.headers['retry-after'] !== undefined);
+};
+const sendIdempotent = async (send, key) => {
+  for (let attempt = 0; ; attempt++) {
+    try {
+      return await send(idempotent(key));
+    } catch (error) {
+      if (attempt >= RETRY_DELAYS_MS.length || !isRetryable(error)) {
+        throw error;
+      }
+      await new Promise(resolve => setTimeout(resolve, RETRY_DELAYS_MS[attempt]));
+    }
+  }
+};
+
 export const login = (data) => axios.post(`${BASE_URL}/auth/login`, data);
 export const register = (data) => axios.post(`${BASE_URL}/auth/register`, data);
 export const registerFaculty = (data) => api.post(`/admin/add-faculty`, data);
@@ -30,11 +79,23 @@ export const registerFaculty = (data) => api.post(`/admin/add-faculty`, data);
 export const getEvents = () => api.get(`/events/all-events`);
 
 // Faculty requests event (sends info to admin for approval)
-export const requestEvent = (data) => api.post(`/events/request-event`, data);
+export const requestEvent = (data, key = newIdempotencyKey()) =>
+  sendIdempotent(config => api.post(`/events/request-event`, data, config), key);
 
 // Admin: get all requested events
 export const getRequestedEvents = () => api.get(`/events/all-requested-events`);
 
+// Faculty: server-push feed of status/remark changes on this faculty's proposals
+// EventSource cannot send headers, so the token travels as a query parameter
+export const subscribeToProposalChanges = (facultyId, since) => {
+  const params = new URLSearchParams();
+  if (since) params.set('since', since);
+  const token = getToken();
+  if (token) params.set('access_token', token);
+  const query = params.toString() ? `?${params}` : '';
+  return new EventSource(`${BASE_URL}/events/proposal-changes/${facultyId}${query}`);
+};
+
 // Admin: approve a requested event
 export const approveEventRequest = (requestId) => api.post(`/events/approve-event/${requestId}`);
 
@@ -44,11 +105,23 @@ export const rejectEventRequest = (requestId) => api.post(`/events/reject-event/
 // Admin: modify a requested event with a remark
 export const addRemarkToEvent = (requestId, requestBody) => api.put(`/admin/modify-event/${requestId}`, requestBody);
 
+// Change selected fields of an event; version must be the one last read
+export const patchEvent = (eventId, version, changes) => api.patch(`/events/${eventId}`, { version, ...changes });
+
+// Admin: approve or reject many requested events at once
+export const bulkApproveEventRequests = (ids, remark) => api.post(`/events/bulk-approve`, { ids, remark });
+export const bulkRejectEventRequests = (ids, remark) => api.post(`/events/bulk-reject`, { ids, remark });
+
+// Admin: set a status and/or remark on many events at once
+export const bulkModifyEvents = (ids, changes) => api.put(`/admin/modify-events`, { ids, ...changes });
+
 // Admin: create event directly (bypassing faculty request)
-export const adminCreateEvent = (data) => api.post(`/events/create-event`, data);
+export const adminCreateEvent = (data, key = newIdempotencyKey()) =>
+  sendIdempotent(config => api.post(`/events/create-event`, data, config), key);
 
 // After admin approval, faculty creates event (final registration)
-export const createEvent = (data) => api.post(`/events/create-event`, data);
+export const createEvent = (data, key = newIdempotencyKey()) =>
+  sendIdempotent(config => api.post(`/events/create-event`, data, config), key);
 
 // Faculty: edit an existing event request
 export const editEventRequest = (eventId, eventData) => api.put(`/events/edit-existing-event/${eventId}`, eventData);
@@ -66,23 +139,41 @@ export const markRemarkAsNotified = (eventId) => {
 };
 
 // Fetch all events requested by a specific faculty
-export const getEventsByFacultyId = (facultyId, params = {}) => {
-  // Add a timestamp parameter to prevent browser caching if not already provided
-  const finalParams = params.timestamp ? params : { ...params, timestamp: new Date().getTime() };
-  return api.get(`/events/all-requested-events/${facultyId}`, { params: finalParams });
-};
+// The server answers with an ETag and Cache-Control: no-cache, so the browser revalidates
+// and gets a 304 when nothing changed
+export const getEventsByFacultyId = (facultyId, params = {}) =>
+  api.get(`/events/all-requested-events/${facultyId}`, { params });
 
 // Cancel an event
-export const cancelEvent = (eventId) => api.delete(`/events/delete-existing-event/${eventId}`);
+// version must be the one last read; the server answers 409 if the event changed since
+export const cancelEvent = (eventId, version) =>
+  api.delete(`/events/delete-existing-event/${eventId}`, { params: { version } });
 
 // Check if a student is already registered for an event
 export const checkEventRegistration = (studentId, eventId) => api.get(`students/check-registration/${studentId}/${eventId}`);
 
+// Check which of the given events a student is registered for. Sends one request per
+// CHECK_REGISTRATIONS_MAX_IDS ids (students.check-registrations.max-ids on the server)
+// and resolves to the registered event ids
+const CHECK_REGISTRATIONS_MAX_IDS = 500;
+export const checkEventRegistrations = async (studentId, eventIds) => {
+  const registered = [];
+  for (let i = 0; i < eventIds.length; i += CHECK_REGISTRATIONS_MAX_IDS) {
+    const res = await api.post(`/students/check-registrations/${studentId}`, eventIds.slice(i, i + CHECK_REGISTRATIONS_MAX_IDS));
+    registered.push(...(res.data || []));
+  }
+  return registered;
+};
+
+// Get the ids of all events a student is registered for
+export const getRegisteredEventIds = (studentId) => api.get(`/students/registered-event-ids/${studentId}`);
+
 // Get all events that a student is registered for
 export const getStudentRegistrations = (studentId) => api.get(`/students/all-events-registered-by-student/${studentId}`);
 
 // Register for an event (expects eventId and student info)
-export const registerForEvent = (data) => api.post(`/students/register-student`, data);
+export const registerForEvent = (data, key = newIdempotencyKey()) =>
+  sendIdempotent(config => api.post(`/students/register-student`, data, config), key);
 
 // Cancel event registration (expects registration ID)
 export const cancelEventRegistration = (data) => {
@@ -101,5 +192,16 @@ export const cancelEventRegistration = (data) => {
     });
 };
 
+// Listings leave out the long-form info; fetch it once a single event is opened
+export const getEventInfo = (eventId) => api.get(`/events/${eventId}/info`);
+
+// Load the info of an opened event into state, ignoring the reply if another event was opened meanwhile
+export const fillEventInfo = (event, setEvent) => {
+  if (!event || event.info != null) return;
+  getEventInfo(event.id)
+    .then(res => setEvent(current => (current && current.id === event.id ? { ...current, info: res.data } : current)))
+    .catch(() => {});
+};
+
 // Get all students registered for a specific event
 export const getEventRegistrations = (eventId) => api.get(`/faculty/all-registrations/${eventId}`);
\ No newline at end of file